@@ -0,0 +1,30 @@
+package com.weather.weather.bench;
+
+/**
+ * 벤치마크 실행 인자 (--name=value) 읽기.
+ */
+final class BenchArgs {
+
+    private BenchArgs() {
+    }
+
+    static String string(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    static int integer(String[] args, String name, int defaultValue) {
+        String value = string(args, name, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    static double decimal(String[] args, String name, double defaultValue) {
+        String value = string(args, name, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,196 @@
+package com.weather.weather.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기록해 둔 기상청 getUltraSrtFcst 응답을 돌려주는 로컬 스텁 서버.
+ * 지연, 오류율, NO_DATA 동작을 조절할 수 있어 실제 API(와 호출 한도)를 쓰지 않고 부하 테스트를 할 수 있다.
+ *
+ * <pre>
+ * ./gradlew kmaStub -PbenchArgs="--port=18080 --latency-ms=150 --error-rate=0.01 --publish-lag-minutes=30"
+ * ./gradlew bootRun --args='--weather.kma.api-url=http://127.0.0.1:18080/getUltraSrtFcst'
+ * </pre>
+ */
+public final class KmaStubServer implements AutoCloseable {
+
+    public static final String DEFAULT_PAYLOAD = "/kma/getUltraSrtFcst-61-127.json";
+    public static final String NO_DATA_PAYLOAD = "/kma/getUltraSrtFcst-no-data.json";
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter BASE_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] payload;
+    private final byte[] noDataPayload;
+    private final Options options;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong noDataCount = new AtomicLong();
+
+    /**
+     * @param latencyMs       응답 전 고정 지연
+     * @param latencyJitterMs 고정 지연에 더할 무작위 지연 (0 ~ jitter)
+     * @param errorRate       HTTP 500을 돌려줄 비율 (0 ~ 1)
+     * @param noDataRate      resultCode 03(NO_DATA)을 돌려줄 비율 (0 ~ 1)
+     * @param publishLagMinutes 발표 시각 후 이 시간(분)이 지나기 전 발표분 요청은 NO_DATA (0이면 사용 안 함).
+     *                          서버의 availability-lag보다 크게 주면 이전 발표 시각으로 후퇴하는 경로를 탄다.
+     */
+    public record Options(int port, long latencyMs, long latencyJitterMs,
+                          double errorRate, double noDataRate, int publishLagMinutes) {
+
+        public static Options withLatency(long latencyMs) {
+            return new Options(0, latencyMs, 0, 0, 0, 0);
+        }
+
+        static Options fromArgs(String[] args) {
+            return new Options(
+                    BenchArgs.integer(args, "port", 18080),
+                    BenchArgs.integer(args, "latency-ms", 100),
+                    BenchArgs.integer(args, "latency-jitter-ms", 0),
+                    BenchArgs.decimal(args, "error-rate", 0),
+                    BenchArgs.decimal(args, "no-data-rate", 0),
+                    BenchArgs.integer(args, "publish-lag-minutes", 0));
+        }
+    }
+
+    private KmaStubServer(Options options) throws IOException {
+        this.options = options;
+        this.payload = readResource(DEFAULT_PAYLOAD);
+        this.noDataPayload = readResource(NO_DATA_PAYLOAD);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", options.port()), 1024);
+        // 지연 중인 요청이 서로를 막지 않도록 요청마다 스레드를 쓴다
+        this.executor = Executors.newCachedThreadPool();
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static KmaStubServer start(long latencyMs) throws IOException {
+        return start(Options.withLatency(latencyMs));
+    }
+
+    public static KmaStubServer start(Options options) throws IOException {
+        KmaStubServer stub = new KmaStubServer(options);
+        stub.server.start();
+        return stub;
+    }
+
+    public static void main(String[] args) throws Exception {
+        KmaStubServer stub = start(Options.fromArgs(args));
+        System.out.println("기상청 스텁 실행 중: " + stub.baseUrl() + "/getUltraSrtFcst " + stub.options);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(stub.summary());
+            stub.close();
+        }));
+        Thread.currentThread().join();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    public String summary() {
+        return "스텁 요청 " + requestCount.get() + "건 (오류 " + errorCount.get() + ", NO_DATA " + noDataCount.get() + ")";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+
+            long delay = options.latencyMs();
+            if (options.latencyJitterMs() > 0) {
+                delay += ThreadLocalRandom.current().nextLong(options.latencyJitterMs() + 1);
+            }
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < options.errorRate()) {
+                errorCount.incrementAndGet();
+                send(exchange, 500, "text/plain;charset=UTF-8", "Internal Server Error".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (random.nextDouble() < options.noDataRate() || isNotYetPublished(exchange.getRequestURI())) {
+                noDataCount.incrementAndGet();
+                send(exchange, 200, "application/json;charset=UTF-8", noDataPayload);
+                return;
+            }
+            send(exchange, 200, "application/json;charset=UTF-8", payload);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ✅ 요청한 발표 시각 + 제공 지연이 아직 지나지 않았으면 제공 전으로 간주
+    private boolean isNotYetPublished(URI uri) {
+        if (options.publishLagMinutes() <= 0) {
+            return false;
+        }
+        String baseDate = queryParam(uri, "base_date");
+        String baseTime = queryParam(uri, "base_time");
+        if (baseDate == null || baseTime == null) {
+            return false;
+        }
+        LocalDateTime publishedAt = LocalDateTime.parse(baseDate + baseTime, BASE_DATE_TIME);
+        return LocalDateTime.now(KST).isBefore(publishedAt.plusMinutes(options.publishLagMinutes()));
+    }
+
+    private static String queryParam(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return pair.substring(separator + 1);
+            }
+        }
+        return null;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    static byte[] readResource(String path) throws IOException {
+        try (InputStream inputStream = KmaStubServer.class.getResourceAsStream(path)) {
+            if (inputStream == null) {
+                throw new IOException("리소스를 찾을 수 없습니다: " + path);
+            }
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,168 @@
+package com.weather.weather.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실행 중인 서버의 /api/weather, /nearest-city, /cities 를 고정 도착률로 호출하는 부하 테스트.
+ * 응답을 기다리지 않고 정해진 시각마다 요청을 보내며(open loop), 지연은 예정 시각부터 잰다.
+ * 그래서 서버가 밀리면 그만큼 지연에 드러난다.
+ *
+ * <pre>
+ * ./gradlew kmaStub -PbenchArgs="--latency-ms=150"
+ * ./gradlew bootRun --args='--weather.kma.api-url=http://127.0.0.1:18080/getUltraSrtFcst'
+ * ./gradlew loadTest -PbenchArgs="--target=weather --rate=200 --duration-s=30"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final double MIN_LAT = 33.1;
+    private static final double MAX_LAT = 38.6;
+    private static final double MIN_LON = 124.6;
+    private static final double MAX_LON = 131.0;
+
+    private static final String[] CITY_QUERIES = {"서", "서울", "종로", "ㅈㄹㄱ", "부산", "ㅂㅅ", "수원", "구", "제주", "강남"};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = BenchArgs.string(args, "base-url", "http://localhost:8080");
+        String target = BenchArgs.string(args, "target", "all");
+        int rate = BenchArgs.integer(args, "rate", 100);
+        int durationSeconds = BenchArgs.integer(args, "duration-s", 30);
+        int warmupSeconds = BenchArgs.integer(args, "warmup-s", 5);
+        int timeoutMs = BenchArgs.integer(args, "timeout-ms", 10_000);
+
+        List<String> cities = loadCityNames();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+
+        List<String> targets = "all".equals(target) ? List.of("weather", "nearest-city", "cities") : List.of(target);
+        for (String name : targets) {
+            RequestFactory factory = requestFactory(name, baseUrl, cities);
+            System.out.printf("▶ %s: %d req/s, %ds (워밍업 %ds)%n", name, rate, durationSeconds, warmupSeconds);
+            if (warmupSeconds > 0) {
+                run(client, factory, rate, warmupSeconds, timeoutMs);
+            }
+            Result result = run(client, factory, rate, durationSeconds, timeoutMs);
+            System.out.println("  " + result);
+        }
+    }
+
+    private static Result run(HttpClient client, RequestFactory factory, int rate,
+                              int durationSeconds, int timeoutMs) throws InterruptedException {
+        int total = rate * durationSeconds;
+        long[] latencies = new long[total];
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        SplittableRandom random = new SplittableRandom(42);
+        List<CompletableFuture<?>> futures = new ArrayList<>(total);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long started = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long scheduledAt = started + i * intervalNanos;
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(factory.next(random))
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .GET()
+                    .build();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        // 예정 시각부터의 지연 (앞 요청이 밀린 시간 포함)
+                        latencies[index] = System.nanoTime() - scheduledAt;
+                        if (error != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        completed.incrementAndGet();
+                    }));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(timeoutMs + 1000L, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 끝나지 않은 요청은 결과에서 제외
+        }
+        long elapsed = System.nanoTime() - started;
+
+        int done = completed.get();
+        long[] sorted = Arrays.stream(latencies).filter(latency -> latency > 0).sorted().toArray();
+        return new Result(total, done, errors.get(), done / (elapsed / 1e9),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static RequestFactory requestFactory(String target, String baseUrl, List<String> cities) {
+        String api = baseUrl + "/api/weather";
+        return switch (target) {
+            case "weather" -> random -> URI.create(api + "?city=" + encode(cities.get(random.nextInt(cities.size()))));
+            case "nearest-city" -> random -> URI.create(api + "/nearest-city?lat="
+                    + (MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT))
+                    + "&lon=" + (MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON)));
+            case "cities" -> random -> URI.create(api + "/cities?limit=20&query="
+                    + encode(CITY_QUERIES[random.nextInt(CITY_QUERIES.length)]));
+            default -> throw new IllegalArgumentException("알 수 없는 대상: " + target + " (weather, nearest-city, cities, all)");
+        };
+    }
+
+    private static List<String> loadCityNames() throws Exception {
+        try (InputStream inputStream = LoadTest.class.getResourceAsStream("/city-coordinates.json")) {
+            Map<String, Integer[]> coordinates = new ObjectMapper().readValue(inputStream,
+                    new TypeReference<Map<String, Integer[]>>() {});
+            return new ArrayList<>(coordinates.keySet());
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        URI next(SplittableRandom random);
+    }
+
+    private record Result(int sent, int completed, int errors, double throughput,
+                          double p50, double p99, double p999, double max) {
+
+        @Override
+        public String toString() {
+            return String.format("요청 %d, 완료 %d, 오류 %d | 처리량 %.1f req/s | p50 %.1fms | p99 %.1fms | p99.9 %.1fms | max %.1fms",
+                    sent, completed, errors, throughput, p50, p99, p999, max);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.weather.weather.bench;
+
+import com.weather.weather.ForecastSnapshot;
+import com.weather.weather.KmaForecastParser;
+import com.weather.weather.config.RestTemplateConfig;
+import com.weather.weather.config.VirtualThreads;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 기상청 스텁을 상대로 같은 수의 요청을
+ * 고정 크기 플랫폼 스레드 풀(Tomcat 기본 200)과 요청당 가상 스레드로 처리해 비교한다.
+ *
+ * <pre>
+ * ./gradlew threadModelBenchmark -PbenchArgs="--requests=5000 --latency-ms=200"
+ * </pre>
+ */
+public final class ThreadModelBenchmark {
+
+    private ThreadModelBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = BenchArgs.integer(args, "requests", 5000);
+        long latencyMs = BenchArgs.integer(args, "latency-ms", 200);
+        int platformThreads = BenchArgs.integer(args, "platform-threads", 200);
+        int maxConnections = BenchArgs.integer(args, "max-connections", 2000);
+
+        RestTemplateConfig config = new RestTemplateConfig();
+        try (KmaStubServer stub = KmaStubServer.start(latencyMs);
+             PoolingHttpClientConnectionManager connectionManager =
+                     config.kmaConnectionManager(maxConnections, maxConnections, 2000, 10_000, 300);
+             CloseableHttpClient httpClient = config.kmaHttpClient(connectionManager, 10_000, 10_000, 30)) {
+
+            RestTemplate restTemplate = config.restTemplate(httpClient);
+            String url = stub.baseUrl() + "/getUltraSrtFcst";
+
+            System.out.printf("요청 %d건, 스텁 지연 %dms, 플랫폼 스레드 %d개, Java %s%n",
+                    requests, latencyMs, platformThreads, Runtime.version());
+
+            // 워밍업
+            run("warm-up", Executors.newFixedThreadPool(platformThreads), restTemplate, url, Math.min(requests, 500));
+
+            run("platform(" + platformThreads + ")", Executors.newFixedThreadPool(platformThreads),
+                    restTemplate, url, requests);
+
+            run("virtual", VirtualThreads.newThreadPerTaskExecutor("bench-vt-"), restTemplate, url, requests);
+        }
+    }
+
+    private static void run(String label, ExecutorService executor, RestTemplate restTemplate,
+                            String url, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        List<Future<?>> futures = new ArrayList<>(requests);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                long requestStarted = System.nanoTime();
+                ForecastSnapshot snapshot = restTemplate.execute(url, HttpMethod.GET, null,
+                        response -> KmaForecastParser.parse(response.getBody()));
+                if (snapshot == null || snapshot.isEmpty()) {
+                    throw new IllegalStateException("빈 응답");
+                }
+                latencies[index] = System.nanoTime() - requestStarted;
+                return null;
+            }));
+        }
+
+        int failures = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Arrays.sort(latencies);
+        double seconds = elapsed / 1e9;
+        System.out.printf("%-16s 처리량 %8.1f req/s | p50 %6.1fms | p99 %6.1fms | max %6.1fms | 실패 %d%n",
+                label, requests / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6,
+                failures);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,80 @@
+package com.weather.weather;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weather.cache.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크 입력: 실제 city-coordinates.json, 기록된 기상청 응답, 국내 범위의 무작위 좌표.
+ */
+final class BenchmarkData {
+
+    static final String RECORDED_PAYLOAD = "/kma/getUltraSrtFcst-61-127.json";
+
+    // 국내 위경도 범위 (제주 ~ 강원 북부, 서해 ~ 울릉도)
+    private static final double MIN_LAT = 33.1;
+    private static final double MAX_LAT = 38.6;
+    private static final double MIN_LON = 124.6;
+    private static final double MAX_LON = 131.0;
+
+    private BenchmarkData() {
+    }
+
+    static Map<String, Integer[]> cityCoordinates() {
+        try (InputStream inputStream = resource("/city-coordinates.json")) {
+            return new ObjectMapper().readValue(inputStream, new TypeReference<Map<String, Integer[]>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] recordedPayload() {
+        try (InputStream inputStream = resource(RECORDED_PAYLOAD)) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ✅ 기상청을 호출하지 않는 벤치마크용 WeatherService (다 쓰면 shutdown)
+    static WeatherService weatherService() {
+        Clock clock = Clock.system(BaseTimeResolver.KST);
+        return new WeatherService(new RestTemplate(),
+                new BaseTimeResolver(clock, 15, 3, 60), clock,
+                new WeatherMetrics(new SimpleMeterRegistry()),
+                new CircuitBreaker("kma", 20, 10, 0.5, Duration.ofSeconds(30), clock),
+                "http://127.0.0.1/getUltraSrtFcst",
+                1000, 10_000, 1, 1, 3000, 360, false);
+    }
+
+    // ✅ 시드 고정 → 실행마다 같은 좌표
+    static double[][] randomCoordinates(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] coordinates = new double[count][];
+        for (int i = 0; i < count; i++) {
+            coordinates[i] = new double[]{
+                    MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT),
+                    MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON)
+            };
+        }
+        return coordinates;
+    }
+
+    private static InputStream resource(String path) throws IOException {
+        InputStream inputStream = BenchmarkData.class.getResourceAsStream(path);
+        if (inputStream == null) {
+            throw new IOException("리소스를 찾을 수 없습니다: " + path);
+        }
+        return inputStream;
+    }
+}
@@ -0,0 +1,54 @@
+package com.weather.weather;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * /api/weather/cities 검색. 색인 검색과 예전 방식(매번 복사·정렬 후 전체 contains)을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CitySearchBenchmark {
+
+    @Param({"종로", "ㅈㄹㄱ", "서울 중", "구"})
+    private String query;
+
+    @Param({"20"})
+    private int limit;
+
+    private Map<String, Integer[]> cityCoordinates;
+    private CityNameIndex index;
+
+    @Setup
+    public void setUp() {
+        cityCoordinates = BenchmarkData.cityCoordinates();
+        index = new CityNameIndex(cityCoordinates.keySet());
+    }
+
+    @Benchmark
+    public List<String> indexedSearch() {
+        return index.search(query, limit);
+    }
+
+    @Benchmark
+    public List<String> indexedNames() {
+        return index.names();
+    }
+
+    // 예전 getCityNames + getCityList 필터
+    @Benchmark
+    public List<String> legacyLinearFilter() {
+        List<String> cities = new ArrayList<>(cityCoordinates.keySet());
+        Collections.sort(cities);
+        return cities.stream()
+                .filter(city -> city.toLowerCase().contains(query.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,50 @@
+package com.weather.weather;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기록된 기상청 응답(60개 항목)을 읽어 항목별 최신 값으로 줄이고 화면용으로 정리하는 경로.
+ * getFormattedWeatherData에서 캐시 적중이 아닐 때 도는 부분이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ForecastBenchmark {
+
+    private byte[] payload;
+    private ForecastSnapshot snapshot;
+    private WeatherService weatherService;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = BenchmarkData.recordedPayload();
+        snapshot = KmaForecastParser.parse(new ByteArrayInputStream(payload));
+        weatherService = BenchmarkData.weatherService();
+    }
+
+    @TearDown
+    public void tearDown() {
+        weatherService.shutdown();
+    }
+
+    // ✅ 응답 스트리밍 파싱 + 항목·예보 시각별 열 단위 스냅샷 만들기
+    @Benchmark
+    public ForecastSnapshot parse() throws IOException {
+        return KmaForecastParser.parse(new ByteArrayInputStream(payload));
+    }
+
+    @Benchmark
+    public Map<String, String> format() {
+        return weatherService.formatWeatherData(snapshot);
+    }
+
+    @Benchmark
+    public Map<String, String> parseAndFormat() throws IOException {
+        return weatherService.formatWeatherData(KmaForecastParser.parse(new ByteArrayInputStream(payload)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.weather.weather;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 위경도 ↔ 격자 변환과 가장 가까운 도시 찾기.
+ * (예전 adjustCoordinatesToNearestGrid 전체 탐색은 NearestCityLookup 조회 테이블로 바뀌었으므로 그쪽을 잰다)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GridProjectionBenchmark {
+
+    private static final int POINTS = 1024; // 2의 거듭제곱 (인덱스 마스킹)
+
+    private double[][] coordinates;
+    private int[][] grids;
+    private NearestCityLookup lookup;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        coordinates = BenchmarkData.randomCoordinates(POINTS);
+        grids = new int[POINTS][];
+        for (int i = 0; i < POINTS; i++) {
+            grids[i] = KmaGridProjection.latitudeLongitudeToGrid(coordinates[i][0], coordinates[i][1]);
+        }
+        lookup = new NearestCityLookup(BenchmarkData.cityCoordinates());
+    }
+
+    private int nextIndex() {
+        return next++ & (POINTS - 1);
+    }
+
+    @Benchmark
+    public int[] latitudeLongitudeToGrid() {
+        double[] coordinate = coordinates[nextIndex()];
+        return KmaGridProjection.latitudeLongitudeToGrid(coordinate[0], coordinate[1]);
+    }
+
+    @Benchmark
+    public double[] gridToLatitudeLongitude() {
+        int[] grid = grids[nextIndex()];
+        return KmaGridProjection.gridToLatitudeLongitude(grid[0], grid[1]);
+    }
+
+    // ✅ findClosestCity와 같은 경로 (투영 + 조회 테이블)
+    @Benchmark
+    public String nearestCity() {
+        double[] coordinate = coordinates[nextIndex()];
+        int[] grid = KmaGridProjection.latitudeLongitudeToGrid(coordinate[0], coordinate[1]);
+        return lookup.nearestCity(grid[0], grid[1]);
+    }
+}
@@ -0,0 +1,80 @@
+package com.weather.weather;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * /api/weather, /api/weather/cities 응답의 형식별(JSON, CBOR, Smile) 직렬화 시간과 크기.
+ * 크기(원본, gzip)는 각 조합의 시작에 출력한다. 서버 압축은 server.compression.* 로 켠다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"cities", "weather"})
+    private String payload;
+
+    private ObjectMapper mapper;
+    private Object body;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> throw new IllegalArgumentException(format);
+        };
+        body = switch (payload) {
+            case "cities" -> new CityNameIndex(BenchmarkData.cityCoordinates().keySet()).names();
+            case "weather" -> weatherBody();
+            default -> throw new IllegalArgumentException(payload);
+        };
+
+        byte[] encoded = mapper.writeValueAsBytes(body);
+        System.out.printf("%n%s/%s: %d bytes (gzip %d bytes)%n", payload, format, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(body);
+    }
+
+    // ✅ 압축까지 (server.compression 이 켜져 있을 때 응답마다 드는 CPU)
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(body));
+    }
+
+    // GET /api/weather?city=... 응답 본문과 같은 모양
+    private static Map<String, Object> weatherBody() throws IOException {
+        WeatherService weatherService = BenchmarkData.weatherService();
+        try {
+            ForecastSnapshot snapshot = KmaForecastParser.parse(new ByteArrayInputStream(BenchmarkData.recordedPayload()));
+            return Map.of("city", "서울특별시 종로구", "weather", weatherService.formatWeatherData(snapshot));
+        } finally {
+            weatherService.shutdown();
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 2 + 64);
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(buffer)) {
+            outputStream.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+}
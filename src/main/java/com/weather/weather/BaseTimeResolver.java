@@ -0,0 +1,172 @@
+package com.weather.weather;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 초단기예보(getUltraSrtFcst) base_date/base_time 계산기.
+ * 초단기예보는 매시 30분에 발표되고, 실제 API 제공까지 몇 분이 더 걸린다.
+ * 제공이 확인된 발표 시각과 NO_DATA였던 발표 시각을 기억해 불필요한 재요청을 줄인다.
+ */
+@Component
+public class BaseTimeResolver {
+
+    public static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private static final DateTimeFormatter BASE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter BASE_TIME = DateTimeFormatter.ofPattern("HHmm");
+
+    // 매시 30분 발표
+    private static final int PUBLISH_MINUTE = 30;
+
+    private final Clock clock;
+    private final Duration availabilityLag;
+    private final int maxAttempts;
+    private final Duration missingRetryAfter;
+
+    // 제공이 확인된 가장 최근 발표 시각
+    private volatile Slot latestConfirmed;
+
+    // NO_DATA였던 발표 시각 → 다시 시도해볼 시각
+    private final Map<Slot, Instant> missingUntil = new ConcurrentHashMap<>();
+
+    public BaseTimeResolver(Clock clock,
+                            @Value("${weather.base-time.availability-lag-minutes:15}") long availabilityLagMinutes,
+                            @Value("${weather.base-time.max-attempts:3}") int maxAttempts,
+                            @Value("${weather.base-time.missing-retry-seconds:60}") long missingRetrySeconds) {
+        this.clock = clock;
+        this.availabilityLag = Duration.ofMinutes(availabilityLagMinutes);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.missingRetryAfter = Duration.ofSeconds(missingRetrySeconds);
+    }
+
+    // ✅ 지금 시각 기준으로 제공되었을 것으로 예상되는 가장 최근 발표 시각
+    public Slot latestExpected() {
+        LocalDateTime available = LocalDateTime.now(clock.withZone(KST)).minus(availabilityLag);
+        LocalDateTime slot = available.truncatedTo(ChronoUnit.HOURS).withMinute(PUBLISH_MINUTE);
+        if (slot.isAfter(available)) {
+            slot = slot.minusHours(1);
+        }
+        return new Slot(slot);
+    }
+
+    /**
+     * 요청해볼 발표 시각 목록 (최신 순, 최대 maxAttempts개).
+     * 최근에 NO_DATA였던 발표 시각은 재시도 시각 전까지 건너뛴다.
+     */
+    public List<Slot> candidates() {
+        Instant now = clock.instant();
+        List<Slot> candidates = new ArrayList<>(maxAttempts);
+
+        Slot slot = latestExpected();
+        Slot confirmed = latestConfirmed;
+        for (int lookback = 0; candidates.size() < maxAttempts && lookback < maxAttempts * 2; lookback++) {
+            boolean knownAvailable = confirmed != null && !slot.isAfter(confirmed);
+            if (knownAvailable || !isKnownMissing(slot, now)) {
+                candidates.add(slot);
+            }
+            slot = slot.previous();
+        }
+        return candidates;
+    }
+
+    public void markAvailable(Slot slot) {
+        missingUntil.remove(slot);
+        Slot confirmed = latestConfirmed;
+        if (confirmed == null || slot.isAfter(confirmed)) {
+            latestConfirmed = slot;
+        }
+        // 더 이상 필요 없는 오래된 기록 정리
+        missingUntil.keySet().removeIf(missing -> !missing.isAfter(slot));
+    }
+
+    public void markMissing(Slot slot) {
+        Slot confirmed = latestConfirmed;
+        if (confirmed != null && !slot.isAfter(confirmed)) {
+            return;
+        }
+        missingUntil.put(slot, clock.instant().plus(missingRetryAfter));
+    }
+
+    /**
+     * 해당 발표 시각 데이터의 만료 시각.
+     * 최신 발표분이면 다음 발표분 제공 시각까지, 이전 발표분이면 최신분을 다시 시도할 때까지.
+     */
+    public Instant expiryFor(Slot slot) {
+        Slot latest = latestExpected();
+        Instant nextAvailable = latest.next().availableAt(availabilityLag);
+        if (!slot.isBefore(latest)) {
+            return nextAvailable;
+        }
+        Instant retryAt = clock.instant().plus(missingRetryAfter);
+        return retryAt.isBefore(nextAvailable) ? retryAt : nextAvailable;
+    }
+
+    public Instant nextAvailableAt() {
+        return latestExpected().next().availableAt(availabilityLag);
+    }
+
+    private boolean isKnownMissing(Slot slot, Instant now) {
+        Instant retryAt = missingUntil.get(slot);
+        return retryAt != null && now.isBefore(retryAt);
+    }
+
+    /**
+     * 발표 시각 (KST)
+     */
+    public record Slot(LocalDateTime time) {
+
+        public static Slot of(String baseDate, String baseTime) {
+            return new Slot(LocalDateTime.parse(baseDate + baseTime, DateTimeFormatter.ofPattern("yyyyMMddHHmm")));
+        }
+
+        // ✅ 숫자로 저장된 발표 시각 (예: 20261018, 30 → 2026-10-18 00:30)
+        public static Slot of(int baseDate, int baseTime) {
+            return of(Integer.toString(baseDate), String.format("%04d", baseTime));
+        }
+
+        public String baseDate() {
+            return time.format(BASE_DATE);
+        }
+
+        public String baseTime() {
+            return time.format(BASE_TIME);
+        }
+
+        public Slot previous() {
+            return new Slot(time.minusHours(1));
+        }
+
+        public Slot next() {
+            return new Slot(time.plusHours(1));
+        }
+
+        public boolean isAfter(Slot other) {
+            return time.isAfter(other.time);
+        }
+
+        public boolean isBefore(Slot other) {
+            return time.isBefore(other.time);
+        }
+
+        public Instant publishedAt() {
+            return time.atZone(KST).toInstant();
+        }
+
+        public Instant availableAt(Duration availabilityLag) {
+            return publishedAt().plus(availabilityLag);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.weather.weather;
+
+import java.util.*;
+
+/**
+ * 도시명 자동완성용 검색 색인. 기동 시 한 번 만들고 이후에는 읽기만 한다.
+ * 글자 2-gram 색인으로 후보를 좁힌 뒤 실제로 포함하는지 확인하며,
+ * 초성(ㅈㄹㄱ → 종로구)과 입력 중인 글자(종ㄹ)도 찾는다.
+ */
+public final class CityNameIndex {
+
+    // 한글 음절 (가 ~ 힣)
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int SYLLABLES_PER_INITIAL = 21 * 28;
+
+    // 초성 19자 (호환용 자모)
+    private static final char[] INITIALS = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    // 관련도 (작을수록 앞)
+    private static final int EXACT = 0;
+    private static final int NAME_PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+
+    private final List<String> names;       // 가나다순
+    private final String version;           // 목록이 바뀌면 달라지는 값 (ETag용)
+    private final String[] searchForms;     // 소문자, 비교용
+    private final String[] initialForms;    // 음절을 초성으로 바꾼 형태
+
+    private final Map<String, int[]> textGrams;     // 글자 gram → 도시 인덱스 (오름차순)
+    private final Map<String, int[]> initialGrams;  // 초성 gram → 도시 인덱스
+
+    public CityNameIndex(Collection<String> cityNames) {
+        String[] sorted = cityNames.stream()
+                .map(String::intern)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+
+        names = List.of(sorted);
+        version = Integer.toHexString(names.hashCode());
+        searchForms = new String[sorted.length];
+        initialForms = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            searchForms[i] = sorted[i].toLowerCase(Locale.ROOT);
+            initialForms[i] = toInitials(searchForms[i]);
+        }
+
+        textGrams = buildGrams(searchForms);
+        initialGrams = buildGrams(initialForms);
+    }
+
+    // ✅ 전체 도시 목록 (가나다순, 수정 불가)
+    public List<String> names() {
+        return names;
+    }
+
+    // ✅ 도시 목록 버전 (String.hashCode 기반이라 같은 목록이면 재기동해도 같음)
+    public String version() {
+        return version;
+    }
+
+    /**
+     * 검색어가 포함된 도시를 관련도 순으로 최대 limit개 반환.
+     * 공백으로 나뉜 검색어는 모두 포함해야 하고, 같은 관련도면 짧은 이름, 가나다순.
+     */
+    public List<String> search(String query, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String[] tokens = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (tokens.length == 0 || tokens[0].isEmpty()) {
+            return names.subList(0, Math.min(limit, names.size()));
+        }
+
+        int[] candidates = null;
+        for (String token : tokens) {
+            int[] postings = candidates(token);
+            candidates = candidates == null ? postings : intersect(candidates, postings);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+
+        List<long[]> matches = new ArrayList<>(candidates.length);
+        for (int index : candidates) {
+            int score = 0;
+            for (String token : tokens) {
+                int rank = rank(index, token);
+                if (rank < 0) {
+                    score = -1;
+                    break;
+                }
+                score += rank;
+            }
+            if (score >= 0) {
+                // 관련도, 이름 길이, 가나다순으로 정렬
+                matches.add(new long[]{score, names.get(index).length(), index});
+            }
+        }
+
+        matches.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0])
+                : a[1] != b[1] ? Long.compare(a[1], b[1])
+                : Long.compare(a[2], b[2]));
+
+        int size = Math.min(limit, matches.size());
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(names.get((int) matches.get(i)[2]));
+        }
+        return result;
+    }
+
+    // ✅ gram 색인으로 후보 도시 좁히기 (초성이 섞인 검색어는 초성 색인 사용)
+    private int[] candidates(String token) {
+        boolean hasInitial = false;
+        for (int i = 0; i < token.length(); i++) {
+            if (isInitial(token.charAt(i))) {
+                hasInitial = true;
+                break;
+            }
+        }
+        String form = hasInitial ? toInitials(token) : token;
+        Map<String, int[]> grams = hasInitial ? initialGrams : textGrams;
+
+        if (form.length() == 1) {
+            return grams.getOrDefault(form, new int[0]);
+        }
+        int[] result = null;
+        for (int i = 0; i + 2 <= form.length(); i++) {
+            int[] postings = grams.get(form.substring(i, i + 2));
+            if (postings == null) {
+                return new int[0];
+            }
+            result = result == null ? postings : intersect(result, postings);
+        }
+        return result;
+    }
+
+    // 일치하지 않으면 -1
+    private int rank(int index, String token) {
+        String name = searchForms[index];
+        int position = indexOf(name, token, 0);
+        if (position < 0) {
+            return -1;
+        }
+        if (position == 0) {
+            return token.length() == name.length() ? EXACT : NAME_PREFIX;
+        }
+        // 단어(시/군/구) 시작에서 일치하는 곳이 있는지
+        for (int at = position; at >= 0; at = indexOf(name, token, at + 1)) {
+            if (name.charAt(at - 1) == ' ') {
+                return WORD_PREFIX;
+            }
+        }
+        return SUBSTRING;
+    }
+
+    // ✅ 검색어의 초성은 같은 초성으로 시작하는 음절과도 일치
+    private static int indexOf(String name, String token, int from) {
+        int last = name.length() - token.length();
+        for (int start = Math.max(from, 0); start <= last; start++) {
+            int i = 0;
+            while (i < token.length() && matches(name.charAt(start + i), token.charAt(i))) {
+                i++;
+            }
+            if (i == token.length()) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(char nameChar, char queryChar) {
+        if (nameChar == queryChar) {
+            return true;
+        }
+        return isInitial(queryChar) && isSyllable(nameChar) && initialOf(nameChar) == queryChar;
+    }
+
+    private static Map<String, int[]> buildGrams(String[] forms) {
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int index = 0; index < forms.length; index++) {
+            String form = forms[index];
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < form.length(); i++) {
+                seen.add(form.substring(i, i + 1));
+                if (i + 2 <= form.length()) {
+                    seen.add(form.substring(i, i + 2));
+                }
+            }
+            for (String gram : seen) {
+                postings.computeIfAbsent(gram, g -> new ArrayList<>()).add(index);
+            }
+        }
+
+        Map<String, int[]> grams = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, indexes) -> grams.put(gram, indexes.stream().mapToInt(Integer::intValue).toArray()));
+        return grams;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                result[size++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static String toInitials(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (isSyllable(chars[i])) {
+                chars[i] = initialOf(chars[i]);
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+
+    private static boolean isInitial(char c) {
+        return c >= 'ㄱ' && c <= 'ㅎ' && Arrays.binarySearch(INITIALS, c) >= 0;
+    }
+
+    private static char initialOf(char syllable) {
+        return INITIALS[(syllable - SYLLABLE_FIRST) / SYLLABLES_PER_INITIAL];
+    }
+}
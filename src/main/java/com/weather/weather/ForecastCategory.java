@@ -0,0 +1,39 @@
+package com.weather.weather;
+
+/**
+ * 초단기예보 항목 코드
+ */
+public enum ForecastCategory {
+    T1H, // 기온(℃)
+    RN1, // 1시간 강수량(mm)
+    SKY, // 하늘상태
+    UUU, // 동서바람성분(m/s)
+    VVV, // 남북바람성분(m/s)
+    REH, // 습도(%)
+    PTY, // 강수형태
+    LGT, // 낙뢰(kA)
+    VEC, // 풍향(deg)
+    WSD; // 풍속(m/s)
+
+    private static final ForecastCategory[] VALUES = values();
+
+    // ✅ 파서 버퍼에서 바로 찾기 (코드마다 String을 만들지 않음)
+    public static ForecastCategory fromChars(char[] buffer, int offset, int length) {
+        if (length != 3) {
+            return null;
+        }
+        for (ForecastCategory category : VALUES) {
+            String code = category.name();
+            if (code.charAt(0) == buffer[offset]
+                    && code.charAt(1) == buffer[offset + 1]
+                    && code.charAt(2) == buffer[offset + 2]) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    public static ForecastCategory fromCode(String code) {
+        return code == null ? null : fromChars(code.toCharArray(), 0, code.length());
+    }
+}
@@ -0,0 +1,44 @@
+package com.weather.weather;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예보 응답의 HTTP 캐시 헤더 (/api/weather, /api/weather/timeline, /api/weather/reactive 공통).
+ * ETag, Last-Modified가 붙은 GET 응답은 Spring MVC가 If-None-Match / If-Modified-Since와 비교해 304로 바꾼다.
+ */
+public final class ForecastHttpCache {
+
+    private ForecastHttpCache() {
+    }
+
+    // ✅ 예보가 있으면 발표분 기준 검증자 + 서버 캐시와 같은 만료 시각까지 max-age
+    public static ResponseEntity<Map<String, Object>> ok(ForecastSnapshot snapshot, Map<String, Object> body,
+                                                         BaseTimeResolver baseTimeResolver, Clock clock) {
+        BaseTimeResolver.Slot slot = BaseTimeResolver.Slot.of(snapshot.baseDate(), snapshot.baseTime());
+        long maxAge = Math.max(0, Duration.between(clock.instant(), baseTimeResolver.expiryFor(slot)).getSeconds());
+        return ResponseEntity.ok()
+                .eTag(eTag(snapshot))
+                .lastModified(slot.publishedAt())
+                .cacheControl(CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT) // JSON / CBOR / Smile
+                .body(body);
+    }
+
+    // ✅ 조회 실패 응답은 캐시하지 않음
+    public static ResponseEntity<Map<String, Object>> unavailable(Map<String, Object> body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+    }
+
+    // 같은 격자를 쓰는 도시는 같은 예보를 보므로 격자 + 발표 시각이면 충분 (압축 시에도 유지되도록 weak)
+    static String eTag(ForecastSnapshot snapshot) {
+        return "W/\"" + snapshot.nx() + "-" + snapshot.ny() + "-" + snapshot.baseDate()
+                + "-" + String.format("%04d", snapshot.baseTime()) + "\"";
+    }
+}
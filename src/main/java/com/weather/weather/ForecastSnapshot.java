@@ -0,0 +1,232 @@
+package com.weather.weather;
+
+import java.util.Arrays;
+
+/**
+ * 한 격자의 초단기예보 (응답에 담긴 모든 예보 시각, 보통 6시간).
+ * 모든 항목이 같은 예보 시각 축을 쓰고, 값은 항목 ordinal별로 이어 붙인 기본형 배열(열 단위)에 담아
+ * 캐시에 올라가는 크기를 줄인다. 단건 조회용 항목별 가장 이른 예보는 그 축의 첫 값이다.
+ */
+public final class ForecastSnapshot {
+
+    private static final int CATEGORY_COUNT = ForecastCategory.values().length;
+
+    private final int nx;
+    private final int ny;
+    private final int baseDate; // yyyyMMdd
+    private final int baseTime; // HHmm
+
+    private final int[] fcstDates;  // 예보 시각 (오름차순) yyyyMMdd
+    private final int[] fcstTimes;  // HHmm
+    private final float[] values;   // [항목 ordinal * 시각 수 + 시각] 숫자 값, 값이 없거나 숫자가 아니면 NaN
+    private final String[] texts;   // values와 같은 배치, 숫자가 아닌 값만 (예: RN1 "강수없음"), 하나도 없으면 null
+    private final int[] first;      // 항목별 값이 있는 첫 시각, 없으면 -1
+
+    private ForecastSnapshot(Builder builder) {
+        this.nx = builder.nx;
+        this.ny = builder.ny;
+        this.baseDate = builder.baseDate;
+        this.baseTime = builder.baseTime;
+
+        // ✅ 예보 시각 축 (중복 제거, 오름차순)
+        long[] hours = Arrays.copyOf(builder.hours, builder.count);
+        Arrays.sort(hours);
+        int hourCount = 0;
+        for (int i = 0; i < hours.length; i++) {
+            if (i == 0 || hours[i] != hours[i - 1]) {
+                hours[hourCount++] = hours[i];
+            }
+        }
+        this.fcstDates = new int[hourCount];
+        this.fcstTimes = new int[hourCount];
+        for (int i = 0; i < hourCount; i++) {
+            fcstDates[i] = (int) (hours[i] / 10_000);
+            fcstTimes[i] = (int) (hours[i] % 10_000);
+        }
+
+        this.values = new float[CATEGORY_COUNT * hourCount];
+        Arrays.fill(values, Float.NaN);
+        String[] texts = null;
+        for (int i = 0; i < builder.count; i++) {
+            int index = builder.categories[i] * hourCount + Arrays.binarySearch(hours, 0, hourCount, builder.hours[i]);
+            values[index] = builder.values[i];
+            if (builder.texts[i] != null) {
+                if (texts == null) {
+                    texts = new String[values.length];
+                }
+                texts[index] = builder.texts[i];
+            } else if (texts != null) {
+                texts[index] = null;
+            }
+        }
+        this.texts = texts;
+
+        this.first = new int[CATEGORY_COUNT];
+        for (int category = 0; category < CATEGORY_COUNT; category++) {
+            first[category] = -1;
+            for (int hour = 0; hour < hourCount; hour++) {
+                if (isPresent(category * hourCount + hour)) {
+                    first[category] = hour;
+                    break;
+                }
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int nx() {
+        return nx;
+    }
+
+    public int ny() {
+        return ny;
+    }
+
+    public int baseDate() {
+        return baseDate;
+    }
+
+    public int baseTime() {
+        return baseTime;
+    }
+
+    public boolean isEmpty() {
+        return fcstDates.length == 0;
+    }
+
+    // ---- 항목별 가장 이른 예보 (단건 조회) ----
+
+    public boolean has(ForecastCategory category) {
+        return first[category.ordinal()] >= 0;
+    }
+
+    public int fcstDate(ForecastCategory category) {
+        int hour = first[category.ordinal()];
+        return hour < 0 ? 0 : fcstDates[hour];
+    }
+
+    public int fcstTime(ForecastCategory category) {
+        int hour = first[category.ordinal()];
+        return hour < 0 ? 0 : fcstTimes[hour];
+    }
+
+    public float value(ForecastCategory category) {
+        int hour = first[category.ordinal()];
+        return hour < 0 ? Float.NaN : value(category, hour);
+    }
+
+    // ✅ 기상청 원문 형식의 값 ("3", "0.5", "강수없음" 등)
+    public String valueText(ForecastCategory category) {
+        int hour = first[category.ordinal()];
+        return hour < 0 ? null : valueText(category, hour);
+    }
+
+    // ---- 예보 시각별 (시간대별 조회) ----
+
+    public int hourCount() {
+        return fcstDates.length;
+    }
+
+    public int fcstDate(int hour) {
+        return fcstDates[hour];
+    }
+
+    public int fcstTime(int hour) {
+        return fcstTimes[hour];
+    }
+
+    public boolean has(ForecastCategory category, int hour) {
+        return isPresent(index(category, hour));
+    }
+
+    // 값이 없거나 숫자가 아니면 NaN
+    public float value(ForecastCategory category, int hour) {
+        return values[index(category, hour)];
+    }
+
+    // 값이 없으면 null
+    public String valueText(ForecastCategory category, int hour) {
+        int index = index(category, hour);
+        if (texts != null && texts[index] != null) {
+            return texts[index];
+        }
+        return Float.isNaN(values[index]) ? null : formatNumber(values[index]);
+    }
+
+    private int index(ForecastCategory category, int hour) {
+        return category.ordinal() * fcstDates.length + hour;
+    }
+
+    private boolean isPresent(int index) {
+        return !Float.isNaN(values[index]) || (texts != null && texts[index] != null);
+    }
+
+    static String formatNumber(float value) {
+        if (value == (int) value) {
+            return Integer.toString((int) value);
+        }
+        return Float.toString(value);
+    }
+
+    public static final class Builder {
+
+        private int nx;
+        private int ny;
+        private int baseDate;
+        private int baseTime;
+
+        // 받은 순서대로 쌓아 두고 build()에서 시각 축으로 정리 (초단기예보는 보통 60개)
+        private int count;
+        private long[] hours = new long[64];     // fcstDate * 10000 + fcstTime
+        private int[] categories = new int[64];
+        private float[] values = new float[64];
+        private String[] texts = new String[64];
+
+        private Builder() {
+        }
+
+        public Builder grid(int nx, int ny) {
+            this.nx = nx;
+            this.ny = ny;
+            return this;
+        }
+
+        public Builder base(int baseDate, int baseTime) {
+            this.baseDate = baseDate;
+            this.baseTime = baseTime;
+            return this;
+        }
+
+        // 같은 항목 + 예보 시각이 다시 오면 나중 값 사용
+        public Builder numeric(ForecastCategory category, int date, int time, float value) {
+            return add(category, date, time, value, null);
+        }
+
+        public Builder text(ForecastCategory category, int date, int time, String text) {
+            return add(category, date, time, Float.NaN, text);
+        }
+
+        private Builder add(ForecastCategory category, int date, int time, float value, String text) {
+            if (count == hours.length) {
+                int capacity = count * 2;
+                hours = Arrays.copyOf(hours, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                values = Arrays.copyOf(values, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+            }
+            hours[count] = date * 10_000L + time;
+            categories[count] = category.ordinal();
+            values[count] = value;
+            texts[count] = text;
+            count++;
+            return this;
+        }
+
+        public ForecastSnapshot build() {
+            return new ForecastSnapshot(this);
+        }
+    }
+}
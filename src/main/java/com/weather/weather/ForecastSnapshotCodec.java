@@ -0,0 +1,141 @@
+package com.weather.weather;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * 예보 스냅샷의 항목 값을 저장용 문자열로 바꾸고 되돌린다. 격자와 발표 시각은 따로 저장한다.
+ * 형식: {"hours":[202610181400,202610181500,...],"T1H":[18.0,17.0,...],"RN1":["강수없음","1.0mm",...],...}
+ * 예보 시각 축(yyyyMMddHHmm)을 한 번만 쓰고 항목별 값을 그 순서대로 적는다 (값이 없는 시각은 null).
+ * 숫자 값은 JSON 숫자, 숫자가 아닌 값은 JSON 문자열이라 원래 종류 그대로 복원된다.
+ */
+public final class ForecastSnapshotCodec {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final String HOURS = "hours";
+
+    private ForecastSnapshotCodec() {
+    }
+
+    public static String encode(ForecastSnapshot snapshot) {
+        int hourCount = snapshot.hourCount();
+        StringWriter writer = new StringWriter(512);
+        try (JsonGenerator generator = JSON.createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(HOURS);
+            for (int hour = 0; hour < hourCount; hour++) {
+                generator.writeNumber(snapshot.fcstDate(hour) * 10_000L + snapshot.fcstTime(hour));
+            }
+            generator.writeEndArray();
+
+            for (ForecastCategory category : ForecastCategory.values()) {
+                if (!snapshot.has(category)) {
+                    continue;
+                }
+                generator.writeArrayFieldStart(category.name());
+                for (int hour = 0; hour < hourCount; hour++) {
+                    float value = snapshot.value(category, hour);
+                    if (!Float.isNaN(value)) {
+                        generator.writeNumber(value);
+                    } else if (snapshot.has(category, hour)) {
+                        generator.writeString(snapshot.valueText(category, hour));
+                    } else {
+                        generator.writeNull();
+                    }
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    // ✅ 모르는 항목(저장 후 항목이 바뀐 경우)은 건너뜀
+    public static ForecastSnapshot decode(int nx, int ny, int baseDate, int baseTime, String payload) {
+        ForecastSnapshot.Builder builder = ForecastSnapshot.builder()
+                .grid(nx, ny)
+                .base(baseDate, baseTime);
+        try (JsonParser parser = JSON.createParser(payload)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            long[] hours = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                expect(parser.nextToken(), JsonToken.START_ARRAY);
+                if (HOURS.equals(field)) {
+                    hours = readHours(parser);
+                } else if (hours != null) {
+                    readSeries(parser, builder, categoryOf(field), hours);
+                } else {
+                    throw new IOException("예보 시각(hours)이 항목 값보다 먼저 와야 합니다: " + field);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.build();
+    }
+
+    private static long[] readHours(JsonParser parser) throws IOException {
+        long[] hours = new long[8];
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(token, JsonToken.VALUE_NUMBER_INT);
+            if (count == hours.length) {
+                hours = Arrays.copyOf(hours, count * 2);
+            }
+            hours[count++] = parser.getLongValue();
+        }
+        return Arrays.copyOf(hours, count);
+    }
+
+    private static void readSeries(JsonParser parser, ForecastSnapshot.Builder builder,
+                                   ForecastCategory category, long[] hours) throws IOException {
+        int hour = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (hour >= hours.length) {
+                throw new IOException("예보 값 수가 예보 시각 수보다 많습니다: " + category);
+            }
+            if (category != null && token != JsonToken.VALUE_NULL) {
+                addValue(parser, builder, category, (int) (hours[hour] / 10_000), (int) (hours[hour] % 10_000), token);
+            }
+            hour++;
+        }
+    }
+
+    private static void addValue(JsonParser parser, ForecastSnapshot.Builder builder, ForecastCategory category,
+                                 int fcstDate, int fcstTime, JsonToken valueToken) throws IOException {
+        if (valueToken == JsonToken.VALUE_STRING) {
+            builder.text(category, fcstDate, fcstTime, parser.getText());
+        } else if (valueToken.isNumeric()) {
+            builder.numeric(category, fcstDate, fcstTime, parser.getFloatValue());
+        } else {
+            throw new IOException("예보 값 형식이 올바르지 않습니다: " + valueToken);
+        }
+    }
+
+    private static ForecastCategory categoryOf(String code) {
+        try {
+            return ForecastCategory.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("저장된 예보 형식이 올바르지 않습니다: " + expected + " 자리에 " + actual);
+        }
+    }
+}
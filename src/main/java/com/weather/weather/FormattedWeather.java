@@ -0,0 +1,31 @@
+package com.weather.weather;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 도시 날씨 조회 결과. 조회에 실패하면 snapshot은 null이고 weather에 error가 담긴다.
+ * stale이면 격자의 마지막 예보를 대신 준 것이고, ageSeconds는 그 예보의 발표 후 경과 시간이다.
+ */
+public record FormattedWeather(ForecastSnapshot snapshot, Map<String, String> weather, boolean stale, long ageSeconds) {
+
+    public static FormattedWeather error(String message) {
+        return new FormattedWeather(null, Map.of("error", message), false, 0);
+    }
+
+    public boolean isAvailable() {
+        return snapshot != null;
+    }
+
+    // ✅ 단건 조회 응답 본문 (stale이면 stale, ageSeconds 추가)
+    public Map<String, Object> toResponseBody(String city) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("city", city);
+        body.put("weather", weather);
+        if (stale) {
+            body.put("stale", true);
+            body.put("ageSeconds", ageSeconds);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,7 @@
+package com.weather.weather;
+
+/**
+ * 기상청 단기예보 격자 좌표 (nx, ny)
+ */
+public record GridCell(int nx, int ny) {
+}
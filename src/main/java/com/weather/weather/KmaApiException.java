@@ -0,0 +1,25 @@
+package com.weather.weather;
+
+/**
+ * 기상청 API가 정상(00)이 아닌 resultCode를 돌려준 경우
+ */
+public class KmaApiException extends RuntimeException {
+
+    // 발표 전이라 아직 데이터가 없음
+    public static final String NO_DATA = "03";
+
+    private final String resultCode;
+
+    public KmaApiException(String resultCode, String resultMessage) {
+        super("기상청 API 오류 (resultCode=" + resultCode + ", " + resultMessage + ")");
+        this.resultCode = resultCode;
+    }
+
+    public String getResultCode() {
+        return resultCode;
+    }
+
+    public boolean isNoData() {
+        return NO_DATA.equals(resultCode);
+    }
+}
@@ -0,0 +1,184 @@
+package com.weather.weather;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * getUltraSrtFcst JSON 응답을 스트리밍으로 읽어 {@link ForecastSnapshot}으로 만든다.
+ * 응답 전체를 Map/List로 올리지 않고 response.body.items.item 배열만 바로 읽는다.
+ */
+public final class KmaForecastParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String NORMAL_SERVICE = "00";
+
+    private KmaForecastParser() {
+    }
+
+    /**
+     * @throws KmaApiException resultCode가 00이 아닌 경우 (NO_DATA 포함)
+     * @throws IOException     JSON이 아니거나 형식이 맞지 않는 경우
+     */
+    public static ForecastSnapshot parse(InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+            ForecastSnapshot.Builder builder = ForecastSnapshot.builder();
+            boolean hasResponse = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("response".equals(field)) {
+                    parseResponse(parser, builder);
+                    hasResponse = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (!hasResponse) {
+                throw new KmaApiException(KmaApiException.NO_DATA, "response 없음");
+            }
+            return builder.build();
+        }
+    }
+
+    private static void parseResponse(JsonParser parser, ForecastSnapshot.Builder builder) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "header" -> parseHeader(parser);
+                case "body" -> parseBody(parser, builder);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void parseHeader(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+
+        String resultCode = null;
+        String resultMessage = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "resultCode" -> resultCode = parser.getValueAsString();
+                case "resultMsg" -> resultMessage = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!NORMAL_SERVICE.equals(resultCode)) {
+            throw new KmaApiException(resultCode, resultMessage);
+        }
+    }
+
+    private static void parseBody(JsonParser parser, ForecastSnapshot.Builder builder) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("items".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                parseItems(parser, builder);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void parseItems(JsonParser parser, ForecastSnapshot.Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("item".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parseItem(parser, builder);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    // ✅ 항목(category) + 예보 시각(fcstDate, fcstTime)별 값을 모두 담음 (시간대별 조회용)
+    private static void parseItem(JsonParser parser, ForecastSnapshot.Builder builder) throws IOException {
+        ForecastCategory category = null;
+        int fcstDate = 0;
+        int fcstTime = 0;
+        int baseDate = 0;
+        int baseTime = 0;
+        int nx = 0;
+        int ny = 0;
+        String value = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "category" -> category = token == JsonToken.VALUE_STRING
+                        ? ForecastCategory.fromChars(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                        : null;
+                case "fcstDate" -> fcstDate = parser.getValueAsInt();
+                case "fcstTime" -> fcstTime = parser.getValueAsInt();
+                case "baseDate" -> baseDate = parser.getValueAsInt();
+                case "baseTime" -> baseTime = parser.getValueAsInt();
+                case "nx" -> nx = parser.getValueAsInt();
+                case "ny" -> ny = parser.getValueAsInt();
+                case "fcstValue" -> value = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+
+        // 모르는 항목 코드나 값이 빠진 항목은 무시
+        if (category == null || value == null || fcstDate == 0) {
+            return;
+        }
+
+        builder.grid(nx, ny).base(baseDate, baseTime);
+
+        if (isNumeric(value)) {
+            builder.numeric(category, fcstDate, fcstTime, Float.parseFloat(value));
+        } else {
+            builder.text(category, fcstDate, fcstTime, value);
+        }
+    }
+
+    private static boolean isNumeric(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+
+        // Float.parseFloat가 받는 형식만 (소수점은 한 번, "1.2.3" 같은 값은 텍스트로 보관)
+        boolean digit = false;
+        boolean seenDot = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else if (!(c == '-' && i == 0)) {
+                return false;
+            }
+        }
+        return digit;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("기상청 응답 형식 오류: " + expected + " 대신 " + actual);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.weather.weather;
+
+/**
+ * 기상청 격자 ↔ 위경도 변환 (Lambert Conformal Conic 투영).
+ * 투영 상수(sn, sf, ro)는 호출마다 다시 계산하지 않도록 클래스 로딩 시 한 번만 계산한다.
+ */
+public final class KmaGridProjection {
+
+    // 기상청 좌표 변환을 위한 상수
+    private static final double RE = 6371.00877; // 지구 반경(km)
+    private static final double GRID = 5.0; // 격자 간격(km)
+    private static final double SLAT1 = 30.0; // 표준 위도 1
+    private static final double SLAT2 = 60.0; // 표준 위도 2
+    private static final double OLON = 126.0; // 기준점 경도
+    private static final double OLAT = 38.0; // 기준점 위도
+    private static final double XO = 43; // 기준점 X 좌표
+    private static final double YO = 136; // 기준점 Y 좌표
+
+    private static final double DEGRAD = Math.PI / 180.0;
+    private static final double RADDEG = 180.0 / Math.PI;
+
+    // ✅ 미리 계산해 두는 투영 상수
+    private static final double RE_GRID = RE / GRID;
+    private static final double OLON_RAD = OLON * DEGRAD;
+    private static final double SN;
+    private static final double SF;
+    private static final double RO;
+
+    static {
+        double slat1 = SLAT1 * DEGRAD;
+        double slat2 = SLAT2 * DEGRAD;
+        double olat = OLAT * DEGRAD;
+
+        double sn = Math.tan(Math.PI * 0.25 + slat2 * 0.5) / Math.tan(Math.PI * 0.25 + slat1 * 0.5);
+        sn = Math.log(Math.cos(slat1) / Math.cos(slat2)) / Math.log(sn);
+        double sf = Math.pow(Math.tan(Math.PI * 0.25 + slat1 * 0.5), sn) * Math.cos(slat1) / sn;
+
+        SN = sn;
+        SF = sf;
+        RO = Math.pow(Math.tan(Math.PI * 0.25 + olat * 0.5), -sn) * sf * RE_GRID;
+    }
+
+    private KmaGridProjection() {
+    }
+
+    // ✅ 위경도 → 격자 (nx, ny)
+    public static int[] latitudeLongitudeToGrid(double lat, double lon) {
+        double ra = Math.pow(Math.tan(Math.PI * 0.25 + lat * DEGRAD * 0.5), -SN) * SF * RE_GRID;
+        double theta = lon * DEGRAD - OLON_RAD;
+        if (theta > Math.PI) theta -= 2.0 * Math.PI;
+        if (theta < -Math.PI) theta += 2.0 * Math.PI;
+        theta *= SN;
+
+        int x = (int) Math.round(ra * Math.sin(theta) + XO);
+        int y = (int) Math.round(RO - ra * Math.cos(theta) + YO);
+        return new int[]{x, y};
+    }
+
+    // ✅ 격자 (nx, ny) → 위경도
+    public static double[] gridToLatitudeLongitude(int nx, int ny) {
+        double x = nx - XO;
+        double y = RO - (ny - YO);
+
+        double ra = Math.sqrt(x * x + y * y);
+        double theta = Math.atan2(x, y);
+        double alat = Math.pow((RE_GRID * SF / ra), (1.0 / SN));
+        alat = 2.0 * Math.atan(alat) - Math.PI * 0.5;
+        double alon = theta / SN + OLON_RAD;
+
+        return new double[]{alat * RADDEG, alon * RADDEG};
+    }
+}
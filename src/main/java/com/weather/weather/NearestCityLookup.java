@@ -0,0 +1,81 @@
+package com.weather.weather;
+
+import java.util.Map;
+
+/**
+ * 기상청 격자 전체(149 × 253)에 대해 가장 가까운 도시를 미리 계산해 둔 조회 테이블.
+ * 기동 시 한 번 만들고, 이후 조회는 배열 인덱싱 한 번으로 끝난다.
+ */
+public final class NearestCityLookup {
+
+    // 기상청 단기예보 격자 범위 (nx: 1~149, ny: 1~253)
+    public static final int MAX_NX = 149;
+    public static final int MAX_NY = 253;
+
+    private final String[] cityNames;
+    private final int[] cityNx;
+    private final int[] cityNy;
+
+    // (ny - 1) * MAX_NX + (nx - 1) → 도시 인덱스
+    private final short[] nearestCity;
+
+    public NearestCityLookup(Map<String, Integer[]> cityCoordinates) {
+        int size = cityCoordinates.size();
+        if (size == 0 || size > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("도시 수가 올바르지 않습니다: " + size);
+        }
+
+        cityNames = new String[size];
+        cityNx = new int[size];
+        cityNy = new int[size];
+
+        int index = 0;
+        for (Map.Entry<String, Integer[]> entry : cityCoordinates.entrySet()) {
+            cityNames[index] = entry.getKey();
+            cityNx[index] = entry.getValue()[0];
+            cityNy[index] = entry.getValue()[1];
+            index++;
+        }
+
+        nearestCity = new short[MAX_NX * MAX_NY];
+        for (int ny = 1; ny <= MAX_NY; ny++) {
+            for (int nx = 1; nx <= MAX_NX; nx++) {
+                nearestCity[(ny - 1) * MAX_NX + (nx - 1)] = (short) scan(nx, ny);
+            }
+        }
+    }
+
+    public String nearestCity(int nx, int ny) {
+        return cityNames[nearestCityIndex(nx, ny)];
+    }
+
+    public int nearestCityIndex(int nx, int ny) {
+        if (nx < 1 || nx > MAX_NX || ny < 1 || ny > MAX_NY) {
+            // 격자 범위 밖이면 직접 계산
+            return scan(nx, ny);
+        }
+        return nearestCity[(ny - 1) * MAX_NX + (nx - 1)];
+    }
+
+    public String cityName(int index) {
+        return cityNames[index];
+    }
+
+    // ✅ 격자 거리 제곱이 가장 작은 도시 (같으면 파일에 먼저 나온 도시)
+    private int scan(int nx, int ny) {
+        int closest = 0;
+        long minDistance = Long.MAX_VALUE;
+
+        for (int i = 0; i < cityNames.length; i++) {
+            long dx = nx - cityNx[i];
+            long dy = ny - cityNy[i];
+            long distance = dx * dx + dy * dy;
+
+            if (distance < minDistance) {
+                minDistance = distance;
+                closest = i;
+            }
+        }
+        return closest;
+    }
+}
@@ -0,0 +1,84 @@
+package com.weather.weather;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /api/weather 와 같은 응답을 논블로킹으로 처리하는 API.
+ * 기상청 응답을 기다리는 동안 요청 스레드를 반납한다. 캐시 헤더와 304 처리도 /api/weather 와 같다.
+ */
+@RestController
+@RequestMapping("/api/weather/reactive")
+@CrossOrigin(origins = "http://localhost:5173") // React 프론트엔드 연결
+public class ReactiveWeatherController {
+
+    @Autowired
+    private ReactiveWeatherService reactiveWeatherService;
+
+    @Autowired
+    private BaseTimeResolver baseTimeResolver;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${weather.batch.max-cities:100}")
+    private int weatherBatchMaxCities;
+
+    // ✅ 특정 도시의 날씨 정보
+    @GetMapping
+    public Mono<ResponseEntity<Map<String, Object>>> getWeatherData(@RequestParam(required = false) String city) {
+        if (city == null || city.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "도시명을 입력하세요.")));
+        }
+
+        return reactiveWeatherService.getFormattedWeatherData(city)
+                .map(weather -> weather.isAvailable()
+                        ? ForecastHttpCache.ok(weather.snapshot(), weather.toResponseBody(city), baseTimeResolver, clock)
+                        : ForecastHttpCache.unavailable(weather.toResponseBody(city)))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError()
+                        .body(Map.of("error", "날씨 데이터를 가져오지 못했습니다."))));
+    }
+
+    // ✅ 여러 도시의 날씨 (같은 격자는 한 번만 조회)
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<Map<String, Object>>> getWeatherBatch(@RequestParam(required = false) List<String> cities) {
+        return weatherBatch(cities);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Map<String, Object>>> postWeatherBatch(@RequestBody(required = false) List<String> cities) {
+        return weatherBatch(cities);
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> weatherBatch(List<String> cities) {
+        if (cities == null || cities.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "도시명을 입력하세요.")));
+        }
+        if (cities.size() > weatherBatchMaxCities) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "한 번에 최대 " + weatherBatchMaxCities + "개 도시까지 조회할 수 있습니다.")));
+        }
+        // 비어 있는 도시명은 결과 맵의 키가 될 수 없으므로 조회 전에 거름
+        for (int i = 0; i < cities.size(); i++) {
+            String city = cities.get(i);
+            if (city == null || city.isBlank()) {
+                return Mono.just(ResponseEntity.badRequest().body(Map.of("error", i + "번째 도시명이 비어 있습니다.")));
+            }
+        }
+
+        return reactiveWeatherService.getFormattedWeatherBatch(cities)
+                .map(result -> ResponseEntity.ok(Map.<String, Object>of(
+                        "weather", result.weather(),
+                        "partial", result.isPartial(),
+                        "timedOut", result.timedOut(),
+                        "stale", result.stale())))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError()
+                        .body(Map.of("error", "날씨 데이터를 가져오지 못했습니다."))));
+    }
+}
@@ -0,0 +1,265 @@
+package com.weather.weather;
+
+import com.weather.weather.cache.CircuitBreaker;
+import com.weather.weather.cache.CircuitBreakerOpenException;
+import com.weather.weather.cache.ForecastKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * WebClient 기반 논블로킹 날씨 조회.
+ * 기상청 응답을 기다리는 동안 스레드를 붙잡지 않으므로, 느린 업스트림 요청 수천 개를 이벤트 루프 몇 개로 처리한다.
+ * 예보 캐시와 발표 시각 계산은 {@link WeatherService}와 같은 것을 쓴다.
+ */
+@Slf4j
+@Service
+public class ReactiveWeatherService {
+
+    private static final FormattedWeather NO_DATA_RESULT = FormattedWeather.error("기상청 API에 해당 좌표의 데이터가 없습니다.");
+    private static final FormattedWeather ERROR_RESULT = FormattedWeather.error("날씨 데이터를 가져오지 못했습니다. (응답 없음)");
+    private static final Map<String, String> UNKNOWN_CITY_RESULT = Map.of("error", "등록되지 않은 도시입니다.");
+    private static final Map<String, String> TIMED_OUT_RESULT = Map.of("error", "날씨 데이터 조회 시간이 초과되었습니다.");
+
+    private final WebClient kmaWebClient;
+    private final WeatherService weatherService;
+    private final BaseTimeResolver baseTimeResolver;
+    private final WeatherMetrics metrics;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final int fanoutConcurrency;
+    private final Duration batchDeadline;
+
+    // ✅ 같은 격자 + 같은 base_time 동시 요청은 하나의 기상청 호출로 합침
+    private final ConcurrentHashMap<ForecastKey, Mono<ForecastSnapshot>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public ReactiveWeatherService(WebClient kmaWebClient,
+                                  WeatherService weatherService,
+                                  BaseTimeResolver baseTimeResolver,
+                                  WeatherMetrics metrics,
+                                  CircuitBreaker kmaCircuitBreaker,
+                                  @Value("${weather.reactive.timeout-ms:5000}") long requestTimeoutMs,
+                                  @Value("${weather.reactive.max-retries:2}") int maxRetries,
+                                  @Value("${weather.reactive.retry-backoff-ms:200}") long retryBackoffMs,
+                                  @Value("${weather.fanout.concurrency:16}") int fanoutConcurrency,
+                                  @Value("${weather.batch.deadline-ms:3000}") long batchDeadlineMs) {
+        this.kmaWebClient = kmaWebClient;
+        this.weatherService = weatherService;
+        this.baseTimeResolver = baseTimeResolver;
+        this.metrics = metrics;
+        this.circuitBreaker = kmaCircuitBreaker;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.fanoutConcurrency = fanoutConcurrency;
+        this.batchDeadline = Duration.ofMillis(batchDeadlineMs);
+        metrics.gauge("weather.upstream.in_flight.reactive", "진행 중인 기상청 호출 수 (논블로킹 경로)", inFlightRequests::size);
+    }
+
+    public Mono<FormattedWeather> getFormattedWeatherData(String city) {
+        GridCell cell = weatherService.gridCellOrDefault(city);
+        return formatted(cell);
+    }
+
+    /**
+     * 여러 도시의 날씨를 한 번에 조회 (같은 격자는 한 번만).
+     * 마감 시간까지 끝나지 않은 격자의 도시는 timedOut으로 돌려준다.
+     */
+    public Mono<WeatherBatchResult> getFormattedWeatherBatch(Collection<String> cities) {
+        Set<String> requested = new LinkedHashSet<>(cities);
+
+        Map<String, GridCell> cellByCity = new HashMap<>();
+        Set<GridCell> cells = new LinkedHashSet<>();
+        for (String city : requested) {
+            GridCell cell = weatherService.findGridCell(city);
+            if (cell != null) {
+                cellByCity.put(city, cell);
+                cells.add(cell);
+            }
+        }
+
+        return Flux.fromIterable(cells)
+                .flatMap(cell -> formatted(cell).map(result -> Map.entry(cell, result)), fanoutConcurrency)
+                // ✅ 마감 시간이 지나면 그때까지 끝난 격자만 모음
+                .take(batchDeadline)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(formattedByCell -> {
+                    Map<String, Map<String, String>> weather = new LinkedHashMap<>();
+                    List<String> timedOut = new ArrayList<>();
+                    List<String> stale = new ArrayList<>();
+                    for (String city : requested) {
+                        GridCell cell = cellByCity.get(city);
+                        if (cell == null) {
+                            weather.put(city, UNKNOWN_CITY_RESULT);
+                            continue;
+                        }
+                        FormattedWeather result = formattedByCell.get(cell);
+                        if (result == null) {
+                            timedOut.add(city);
+                            weather.put(city, TIMED_OUT_RESULT);
+                            continue;
+                        }
+                        if (result.stale()) {
+                            stale.add(city);
+                        }
+                        weather.put(city, result.weather());
+                    }
+                    return new WeatherBatchResult(weather, timedOut, stale);
+                });
+    }
+
+    private Mono<FormattedWeather> formatted(GridCell cell) {
+        return serveWeatherData(cell)
+                .map(weatherService::toFormattedWeather)
+                .defaultIfEmpty(NO_DATA_RESULT)
+                .onErrorResume(e -> {
+                    log.warn("🚨 API 호출 중 오류 발생 (nx={}, ny={}): {}", cell.nx(), cell.ny(), e.getMessage());
+                    return Mono.just(ERROR_RESULT);
+                });
+    }
+
+    // ✅ 최신 발표분이 캐시에 없고 격자의 마지막 예보가 있으면 그것을 바로 주고, 갱신은 구독만 걸어 둠
+    private Mono<ServedSnapshot> serveWeatherData(GridCell cell) {
+        return Mono.defer(() -> {
+            ServedSnapshot served = weatherService.serveFromCache(cell);
+            if (served == null) {
+                return getWeatherData(cell.nx(), cell.ny()).map(ServedSnapshot::fresh);
+            }
+            if (served.stale()) {
+                weatherService.recordStaleServed();
+                if (circuitBreaker.allowsCalls()) {
+                    // 같은 격자 갱신은 inFlightRequests에서 하나로 합쳐짐
+                    getWeatherData(cell.nx(), cell.ny()).subscribe(snapshot -> { },
+                            e -> log.debug("백그라운드 갱신 실패 (nx={}, ny={}): {}", cell.nx(), cell.ny(), e.getMessage()));
+                }
+            }
+            return Mono.just(served);
+        });
+    }
+
+    Mono<ForecastSnapshot> getWeatherData(int nx, int ny) {
+        return Mono.defer(() -> {
+            List<BaseTimeResolver.Slot> candidates = baseTimeResolver.candidates();
+            if (candidates.isEmpty()) {
+                return Mono.empty();
+            }
+
+            // ✅ 같은 격자 + 같은 발표 시각이면 캐시된 응답 재사용
+            BaseTimeResolver.Slot latest = candidates.get(0);
+            ForecastKey cacheKey = new ForecastKey(nx, ny, latest.baseDate(), latest.baseTime());
+            ForecastSnapshot cached = weatherService.cachedSnapshot(cacheKey);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            // 구독자가 모두 떠나도 진행 중인 호출은 끝까지 받아 캐시를 채움
+            return inFlightRequests.computeIfAbsent(cacheKey, key -> loadWeatherData(nx, ny, candidates)
+                    .doFinally(signal -> inFlightRequests.remove(key))
+                    .cache());
+        });
+    }
+
+    // ✅ 최신 발표 시각부터 차례로 시도해 처음 받은 예보를 사용 (NO_DATA면 이전 발표 시각으로)
+    private Mono<ForecastSnapshot> loadWeatherData(int nx, int ny, List<BaseTimeResolver.Slot> candidates) {
+        return Flux.fromIterable(candidates)
+                .index()
+                .concatMap(indexed -> loadSlot(nx, ny, indexed.getT2())
+                        .doOnNext(snapshot -> metrics.recordFallbackDepth(indexed.getT1().intValue())))
+                .next();
+    }
+
+    private Mono<ForecastSnapshot> loadSlot(int nx, int ny, BaseTimeResolver.Slot slot) {
+        ForecastKey key = new ForecastKey(nx, ny, slot.baseDate(), slot.baseTime());
+        return Mono.defer(() -> {
+            // 앞선 요청이 방금 캐시를 채웠을 수 있으므로 한 번 더 확인
+            ForecastSnapshot cached = weatherService.peekSnapshot(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            // 네트워크/서버 오류는 이전 발표 시각으로 바꿔도 해결되지 않으므로 그대로 전달
+            return requestWeatherData(slot, nx, ny)
+                    .filter(snapshot -> !snapshot.isEmpty())
+                    .doOnNext(snapshot -> weatherService.storeSnapshot(key, slot, snapshot))
+                    .onErrorResume(e -> e instanceof KmaApiException apiException && apiException.isNoData(),
+                            e -> Mono.empty())
+                    .switchIfEmpty(Mono.fromRunnable(() -> {
+                        log.debug("NO_DATA, 이전 발표 시각으로 재시도 (nx={}, ny={}, base_time={})", nx, ny, slot.baseTime());
+                        metrics.recordNoData(WeatherMetrics.REACTIVE);
+                        baseTimeResolver.markMissing(slot);
+                    }));
+        });
+    }
+
+    // ✅ 응답 버퍼를 모아 스트리밍 파서로 바로 읽음 (요청마다 타임아웃, 일시적 오류만 재시도)
+    private Mono<ForecastSnapshot> requestWeatherData(BaseTimeResolver.Slot slot, int nx, int ny) {
+        return Mono.defer(() -> {
+            CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+            if (permit == null) {
+                return Mono.<ForecastSnapshot>error(new CircuitBreakerOpenException(circuitBreaker.name()));
+            }
+            long started = System.nanoTime();
+            return kmaWebClient.get()
+                    .uri(weatherService.buildRequestUri(slot, nx, ny))
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .as(DataBufferUtils::join)
+                    .map(this::parse)
+                    .timeout(requestTimeout)
+                    // 재시도마다 한 번씩 기록
+                    .doOnSuccess(snapshot -> recordUpstream(permit,
+                            snapshot != null && !snapshot.isEmpty() ? WeatherMetrics.SUCCESS : WeatherMetrics.NO_DATA,
+                            started))
+                    .doOnError(e -> recordUpstream(permit, WeatherMetrics.outcomeOf(e), started))
+                    .doOnCancel(() -> circuitBreaker.release(permit));
+        }).retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                .filter(ReactiveWeatherService::isTransient)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private void recordUpstream(CircuitBreaker.Permit permit, String outcome, long started) {
+        metrics.recordUpstream(WeatherMetrics.REACTIVE, outcome, System.nanoTime() - started);
+        weatherService.recordCircuitOutcome(permit, outcome);
+    }
+
+    private ForecastSnapshot parse(DataBuffer buffer) {
+        // 스트림을 닫으면 버퍼도 반환됨
+        try (InputStream inputStream = buffer.asInputStream(true)) {
+            return metrics.parse(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 타임아웃, 연결 오류, 5xx만 재시도 (NO_DATA나 잘못된 요청은 재시도해도 같음)
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof TimeoutException || e instanceof WebClientRequestException) {
+            return true;
+        }
+        return e instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is5xxServerError();
+    }
+
+    public int inFlightCount() {
+        return inFlightRequests.size();
+    }
+}
@@ -0,0 +1,16 @@
+package com.weather.weather;
+
+/**
+ * 사용자 요청에 돌려줄 예보.
+ * stale이면 최신 발표분을 아직 받지 못해(갱신 중이거나 기상청 장애) 격자의 마지막 예보를 대신 준 것이다.
+ */
+record ServedSnapshot(ForecastSnapshot snapshot, boolean stale) {
+
+    static ServedSnapshot fresh(ForecastSnapshot snapshot) {
+        return new ServedSnapshot(snapshot, false);
+    }
+
+    static ServedSnapshot stale(ForecastSnapshot snapshot) {
+        return new ServedSnapshot(snapshot, true);
+    }
+}
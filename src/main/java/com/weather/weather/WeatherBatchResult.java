@@ -0,0 +1,15 @@
+package com.weather.weather;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 도시 날씨 조회 결과. 마감 시간 안에 끝나지 않은 도시는 timedOut에,
+ * 최신 발표분 대신 격자의 마지막 예보를 받은 도시는 stale에 담긴다.
+ */
+public record WeatherBatchResult(Map<String, Map<String, String>> weather, List<String> timedOut, List<String> stale) {
+
+    public boolean isPartial() {
+        return !timedOut.isEmpty();
+    }
+}
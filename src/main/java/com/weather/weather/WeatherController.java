@@ -1,14 +1,30 @@
 package com.weather.weather;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weather.entity.CoordinateDTO;
+import com.weather.weather.service.ForecastPushService;
+import com.weather.weather.service.WeatherPrefetchScheduler;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Clock;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @RestController
+@Timed(value = "weather.api", histogram = true) // 엔드포인트(메서드)별 응답 시간
 @RequestMapping("/api/weather")
 @CrossOrigin(origins = "http://localhost:5173") // React 프론트엔드 연결
 public class WeatherController {
@@ -16,7 +32,37 @@ public class WeatherController {
     @Autowired
     private WeatherService weatherService;
 
-    // ✅ 1️⃣ 특정 도시의 날씨 정보를 가져오는 API
+    @Autowired
+    private WeatherPrefetchScheduler prefetchScheduler;
+
+    @Autowired
+    private ForecastPushService forecastPushService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BaseTimeResolver baseTimeResolver;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${weather.nearest-city.batch-max-size:10000}")
+    private int nearestCityBatchMaxSize;
+
+    @Value("${weather.batch.max-cities:100}")
+    private int weatherBatchMaxCities;
+
+    // 도시 목록은 배포 전에는 바뀌지 않으므로 길게 캐시
+    @Value("${weather.http-cache.cities-max-age-seconds:86400}")
+    private long citiesMaxAgeSeconds;
+
+    /**
+     * ✅ 1️⃣ 특정 도시의 날씨 정보를 가져오는 API
+     * 격자 + 발표 시각으로 ETag/Last-Modified를 붙이고, 다음 발표분이 나올 때까지 캐시하도록 한다.
+     * If-None-Match / If-Modified-Since가 일치하면 본문 없이 304를 돌려준다.
+     * 최신 발표분을 아직 못 받았으면(갱신 중, 기상청 장애) 격자의 마지막 예보를 stale, ageSeconds와 함께 돌려준다.
+     */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getWeatherData(@RequestParam(required = false) String city) {
         if (city == null || city.isEmpty()) {
@@ -24,8 +70,88 @@ public class WeatherController {
         }
 
         try {
-            Map<String, String> formattedWeatherData = weatherService.getFormattedWeatherData(city);
-            return ResponseEntity.ok(Map.of("city", city, "weather", formattedWeatherData));
+            FormattedWeather result = weatherService.getWeather(city);
+            Map<String, Object> body = result.toResponseBody(city);
+            if (!result.isAvailable()) {
+                return ForecastHttpCache.unavailable(body);
+            }
+
+            return ForecastHttpCache.ok(result.snapshot(), body, baseTimeResolver, clock);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "날씨 데이터를 가져오지 못했습니다."));
+        }
+    }
+
+    /**
+     * ✅ 1️⃣-2 특정 도시의 시간대별 예보 (차트용, 예보 시각 times와 항목별 값 배열)
+     * 단건 조회와 같은 캐시된 예보에서 만들므로 기상청을 따로 호출하지 않고, 캐시 헤더와 stale 처리도 같다.
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<Map<String, Object>> getWeatherTimeline(@RequestParam(required = false) String city) {
+        if (city == null || city.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "도시명을 입력하세요."));
+        }
+
+        try {
+            WeatherTimeline result = weatherService.getTimeline(city);
+            Map<String, Object> body = result.toResponseBody(city);
+            if (!result.isAvailable()) {
+                return ForecastHttpCache.unavailable(body);
+            }
+            return ForecastHttpCache.ok(result.snapshot(), body, baseTimeResolver, clock);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "날씨 데이터를 가져오지 못했습니다."));
+        }
+    }
+
+    /**
+     * ✅ 1️⃣-3 도시 예보 구독 (SSE, 폴링 대신)
+     * 새 발표분이 들어왔을 때만 forecast 이벤트를 보내고, 조용할 때는 heartbeat 주석을 보낸다.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWeather(@RequestParam(required = false) List<String> cities) {
+        try {
+            return forecastPushService.subscribe(cities);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    // ✅ 1️⃣-1 여러 도시의 날씨를 한 번에 가져오는 API (같은 격자는 한 번만 조회)
+    @GetMapping("/batch")
+    public ResponseEntity<Map<String, Object>> getWeatherBatch(@RequestParam(required = false) List<String> cities) {
+        return weatherBatch(cities);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> postWeatherBatch(@RequestBody(required = false) List<String> cities) {
+        return weatherBatch(cities);
+    }
+
+    private ResponseEntity<Map<String, Object>> weatherBatch(List<String> cities) {
+        if (cities == null || cities.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "도시명을 입력하세요."));
+        }
+        if (cities.size() > weatherBatchMaxCities) {
+            return ResponseEntity.badRequest().body(Map.of("error", "한 번에 최대 " + weatherBatchMaxCities + "개 도시까지 조회할 수 있습니다."));
+        }
+        // 비어 있는 도시명은 결과 맵의 키가 될 수 없으므로 조회 전에 거름
+        for (int i = 0; i < cities.size(); i++) {
+            String city = cities.get(i);
+            if (city == null || city.isBlank()) {
+                return ResponseEntity.badRequest().body(Map.of("error", i + "번째 도시명이 비어 있습니다."));
+            }
+        }
+
+        try {
+            WeatherBatchResult result = weatherService.getFormattedWeatherBatch(cities);
+            return ResponseEntity.ok(Map.of(
+                    "weather", result.weather(),
+                    "partial", result.isPartial(),
+                    "timedOut", result.timedOut(),
+                    "stale", result.stale()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "날씨 데이터를 가져오지 못했습니다."));
         }
@@ -42,18 +168,81 @@ public class WeatherController {
         }
     }
 
-    // ✅ 3️⃣ 저장된 도시 목록 반환 (검색 및 자동완성용)
+    // ✅ 2️⃣-1 여러 좌표의 가장 가까운 도시를 한 번에 찾기 (요청 순서대로 스트리밍 응답)
+    @PostMapping("/nearest-city/batch")
+    public ResponseEntity<StreamingResponseBody> getNearestCities(@RequestBody List<CoordinateDTO> coordinates) {
+        if (coordinates == null || coordinates.isEmpty()) {
+            return batchError("좌표 목록을 입력하세요.");
+        }
+        if (coordinates.size() > nearestCityBatchMaxSize) {
+            return batchError("한 번에 최대 " + nearestCityBatchMaxSize + "개까지 조회할 수 있습니다.");
+        }
+        // 스트리밍을 시작한 뒤에는 400으로 바꿀 수 없으므로 잘못된 좌표는 미리 거름
+        for (int i = 0; i < coordinates.size(); i++) {
+            CoordinateDTO coordinate = coordinates.get(i);
+            if (coordinate == null) {
+                return batchError(i + "번째 좌표가 비어 있습니다.");
+            }
+            if (!Double.isFinite(coordinate.getLat()) || !Double.isFinite(coordinate.getLon())) {
+                return batchError(i + "번째 좌표의 위도/경도가 올바르지 않습니다.");
+            }
+        }
+
+        String[] cities = weatherService.findClosestCities(coordinates);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (int i = 0; i < cities.length; i++) {
+                    CoordinateDTO coordinate = coordinates.get(i);
+                    generator.writeStartObject();
+                    generator.writeNumberField("lat", coordinate.getLat());
+                    generator.writeNumberField("lon", coordinate.getLon());
+                    generator.writeStringField("city", cities[i]);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> batchError(String message) {
+        StreamingResponseBody body = outputStream -> objectMapper.writeValue(outputStream, Map.of("error", message));
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // ✅ 3️⃣ 저장된 도시 목록 반환 (검색 및 자동완성용, 초성 검색 지원: ㅈㄹㄱ → 종로구)
     @GetMapping("/cities")
-    public ResponseEntity<List<String>> getCityList(@RequestParam(required = false) String query) {
-        List<String> cities = weatherService.getCityNames();
+    public ResponseEntity<List<String>> getCityList(@RequestParam(required = false) String query,
+                                                    @RequestParam(required = false) Integer limit) {
+        int maxResults = limit == null ? Integer.MAX_VALUE : Math.max(0, limit);
+
+        // 목록이 바뀌지 않는 한 같은 검색어의 결과도 같으므로 목록 버전을 ETag로 사용
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag("W/\"cities-" + weatherService.getCityListVersion() + "\"")
+                .cacheControl(CacheControl.maxAge(citiesMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT);
 
-        // 검색어(query)가 있을 경우 필터링
+        // 검색어(query)가 있을 경우 관련도 순으로 검색
         if (query != null && !query.isBlank()) {
-            cities = cities.stream()
-                    .filter(city -> city.toLowerCase().contains(query.toLowerCase()))
-                    .collect(Collectors.toList());
+            return response.body(weatherService.searchCities(query, maxResults));
         }
 
-        return ResponseEntity.ok(cities);
+        List<String> cities = weatherService.getCityNames();
+        return response.body(cities.subList(0, Math.min(maxResults, cities.size())));
+    }
+
+    // ✅ 4️⃣ 예보 캐시 통계 (적중/실패 횟수)
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(weatherService.getCacheStats());
+    }
+
+    // ✅ 5️⃣ 격자 선조회 상태 (마지막 주기 소요 시간, 실패 수, 경과 시간)
+    @GetMapping("/prefetch/status")
+    public ResponseEntity<Map<String, Object>> getPrefetchStatus() {
+        return ResponseEntity.ok(prefetchScheduler.getStatus());
     }
 }
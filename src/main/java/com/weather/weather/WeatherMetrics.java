@@ -0,0 +1,166 @@
+package com.weather.weather;
+
+import com.weather.weather.cache.CircuitBreaker;
+import com.weather.weather.cache.ExpiringLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 날씨 조회 경로의 Micrometer 지표 (/actuator/metrics).
+ * 기상청 호출 지연(결과별), NO_DATA 재시도, base_time 후퇴 깊이, 응답 파싱 시간을 기록한다.
+ */
+@Component
+public class WeatherMetrics {
+
+    // 호출 경로 (client 태그)
+    public static final String BLOCKING = "blocking";
+    public static final String REACTIVE = "reactive";
+
+    // 호출 결과 (outcome 태그)
+    public static final String SUCCESS = "success";
+    public static final String NO_DATA = "no_data";
+    public static final String API_ERROR = "api_error";
+    public static final String TIMEOUT = "timeout";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    private final Meter.MeterProvider<Timer> upstreamTimer;
+    private final Meter.MeterProvider<Counter> noDataCounter;
+    private final DistributionSummary fallbackDepth;
+    private final Timer parseTimer;
+
+    public WeatherMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        this.upstreamTimer = Timer.builder("weather.upstream.requests")
+                .description("기상청 API 호출 시간 (결과별)")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.noDataCounter = Counter.builder("weather.upstream.no_data")
+                .description("NO_DATA로 이전 발표 시각을 다시 시도한 횟수")
+                .withRegistry(registry);
+        this.fallbackDepth = DistributionSummary.builder("weather.base_time.fallback.depth")
+                .description("응답에 사용된 발표 시각이 최신 예상 발표 시각보다 몇 단계 이전인지 (0 = 최신)")
+                .register(registry);
+        this.parseTimer = Timer.builder("weather.upstream.parse")
+                .description("기상청 응답 파싱 시간 (블로킹 경로는 본문 수신 포함)")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordUpstream(String client, String outcome, long elapsedNanos) {
+        upstreamTimer.withTags("client", client, "outcome", outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordNoData(String client) {
+        noDataCounter.withTags("client", client).increment();
+    }
+
+    public void recordFallbackDepth(int depth) {
+        fallbackDepth.record(depth);
+    }
+
+    // ✅ 파싱 시간을 기록하며 응답 읽기
+    public ForecastSnapshot parse(InputStream inputStream) throws IOException {
+        long started = System.nanoTime();
+        try {
+            return KmaForecastParser.parse(inputStream);
+        } finally {
+            parseTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void bindForecastCache(ExpiringLruCache<?, ?> cache) {
+        bindCache("weather.cache", cache);
+    }
+
+    // ✅ 캐시 크기, 적중/실패/제거 횟수, 적중률 (prefix.size, prefix.requests, prefix.evictions, prefix.hit_rate)
+    public void bindCache(String prefix, ExpiringLruCache<?, ?> cache) {
+        Gauge.builder(prefix + ".size", cache, ExpiringLruCache::size)
+                .description("캐시 항목 수")
+                .register(registry);
+        FunctionCounter.builder(prefix + ".requests", cache, ExpiringLruCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(prefix + ".requests", cache, ExpiringLruCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(prefix + ".evictions", cache, ExpiringLruCache::evictionCount)
+                .register(registry);
+        Gauge.builder(prefix + ".hit_rate", cache, WeatherMetrics::hitRate)
+                .description("누적 캐시 적중률 (0 ~ 1)")
+                .register(registry);
+    }
+
+    // ✅ 서킷 브레이커 상태 (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN), 거절·열림 횟수
+    public void bindCircuitBreaker(CircuitBreaker circuitBreaker) {
+        Gauge.builder("weather.upstream.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("서킷 브레이커 상태 (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN)")
+                .tag("name", circuitBreaker.name())
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.circuit.rejected", circuitBreaker, CircuitBreaker::rejectedCount)
+                .description("서킷이 열려 있어 호출하지 않은 횟수")
+                .tag("name", circuitBreaker.name())
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.circuit.opened", circuitBreaker, CircuitBreaker::openedCount)
+                .description("서킷이 열린 횟수")
+                .tag("name", circuitBreaker.name())
+                .register(registry);
+    }
+
+    private static double hitRate(ExpiringLruCache<?, ?> cache) {
+        long hits = cache.hitCount();
+        long total = hits + cache.missCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public void gauge(String name, String description, Supplier<Number> value) {
+        Gauge.builder(name, value)
+                .description(description)
+                .register(registry);
+    }
+
+    public Counter counter(String name, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .register(registry);
+    }
+
+    public Timer timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .register(registry);
+    }
+
+    // ✅ 예외를 outcome 태그 값으로 분류
+    public static String outcomeOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof KmaApiException apiException) {
+                return apiException.isNoData() ? NO_DATA : API_ERROR;
+            }
+            if (cause instanceof TimeoutException
+                    || cause instanceof InterruptedIOException
+                    || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return TIMEOUT;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return ERROR;
+    }
+}
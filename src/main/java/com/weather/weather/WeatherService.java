@@ -2,7 +2,19 @@ package com.weather.weather;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weather.cache.CircuitBreaker;
+import com.weather.weather.cache.CircuitBreakerOpenException;
+import com.weather.weather.cache.ExpiringLruCache;
+import com.weather.weather.cache.ForecastKey;
+import com.weather.weather.cache.SingleFlight;
+import com.weather.weather.config.VirtualThreads;
+import com.weather.weather.entity.CoordinateDTO;
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -11,23 +23,129 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+@Slf4j
 @Service
 public class WeatherService {
 
-    private static final String API_URL = "http://apis.data.go.kr/1360000/VilageFcstInfoService_2.0/getUltraSrtFcst";
     private static final String SERVICE_KEY = "hNQQGlEEAxRJBkdL1VFgEmEDkpw5QWrK0cK3BJ0lx0mHufYq3ruuhwSS4uosgUFQDKNOOMB2fWW0iiQWJb76GA==";
+    private static final String ENCODED_SERVICE_KEY = URLEncoder.encode(SERVICE_KEY, StandardCharsets.UTF_8);
+
+    // 이 개수 이상이면 일괄 좌표 변환을 병렬로 처리
+    private static final int PARALLEL_BATCH_THRESHOLD = 2048;
+
+    // 시간대별 조회의 숫자 항목 단위 (단건 조회는 값 문자열에 단위를 붙임)
+    private static final Map<String, String> TIMELINE_UNITS = Map.of(
+            "temperature", "°C",
+            "humidity", "%",
+            "windSpeed", "m/s");
 
     private final RestTemplate restTemplate;
+    // 기상청 초단기예보 API 주소 (부하 테스트 시 로컬 스텁 주소로 바꿈)
+    private final String apiUrl;
     private Map<String, Integer[]> cityCoordinates;
-
-    public WeatherService(RestTemplate restTemplate) {
+    private NearestCityLookup nearestCityLookup;
+    private CityNameIndex cityNameIndex;
+
+    // ✅ 격자(nx, ny) + base_date/base_time 단위 예보 캐시 (다음 발표분 제공 시각에 만료)
+    private final ExpiringLruCache<ForecastKey, ForecastSnapshot> forecastCache;
+
+    // ✅ 같은 격자 + 같은 base_time 동시 요청은 하나의 기상청 호출로 합침
+    private final SingleFlight<ForecastKey, ForecastSnapshot> inFlightRequests;
+
+    // ✅ 격자별 마지막으로 받은 예보 (최신분이 캐시에 없을 때 stale로 바로 응답, 최대 staleMaxAge까지 보관)
+    private final ExpiringLruCache<GridCell, ForecastSnapshot> lastGoodSnapshots;
+    private final Duration staleMaxAge;
+    // 뒤에서 갱신 중인 격자 (격자당 하나만)
+    private final Set<GridCell> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter staleServed;
+
+    // ✅ 기상청이 느리거나 죽었을 때 사용자 요청마다 타임아웃을 기다리지 않도록 바로 거절
+    private final CircuitBreaker circuitBreaker;
+
+    private final BaseTimeResolver baseTimeResolver;
+    private final WeatherMetrics metrics;
+    private final Clock clock;
+
+    // ✅ 기상청에서 새로 받은 예보를 넘겨받을 곳 (재기동용 저장소 등, 호출 스레드에서 바로 실행되므로 가볍게)
+    private final List<Consumer<ForecastSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
+
+    // ✅ 여러 격자 동시 조회용 Executor (가상 스레드 모드면 작업마다 가상 스레드)
+    private final ExecutorService fanoutExecutor;
+    // 실행 방식과 관계없이 기상청 동시 호출 수 제한
+    private final Semaphore fanoutPermits;
+    private final Duration batchDeadline;
+
+    public WeatherService(RestTemplate restTemplate,
+                          BaseTimeResolver baseTimeResolver,
+                          Clock clock,
+                          WeatherMetrics metrics,
+                          CircuitBreaker kmaCircuitBreaker,
+                          @Value("${weather.kma.api-url:http://apis.data.go.kr/1360000/VilageFcstInfoService_2.0/getUltraSrtFcst}") String apiUrl,
+                          @Value("${weather.cache.max-size:1000}") int cacheMaxSize,
+                          @Value("${weather.upstream.coalesce-timeout-ms:10000}") long coalesceTimeoutMs,
+                          @Value("${weather.fanout.concurrency:16}") int fanoutConcurrency,
+                          @Value("${weather.fanout.queue-capacity:500}") int fanoutQueueCapacity,
+                          @Value("${weather.batch.deadline-ms:3000}") long batchDeadlineMs,
+                          @Value("${weather.stale.max-age-minutes:360}") long staleMaxAgeMinutes,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.restTemplate = restTemplate;
+        this.apiUrl = apiUrl;
+        this.baseTimeResolver = baseTimeResolver;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.circuitBreaker = kmaCircuitBreaker;
+        this.batchDeadline = Duration.ofMillis(batchDeadlineMs);
+        this.fanoutPermits = new Semaphore(fanoutConcurrency);
+
+        if (virtualThreads) {
+            this.fanoutExecutor = VirtualThreads.newThreadPerTaskExecutor("weather-fanout-");
+        } else {
+            // 플랫폼 스레드 풀 (큐가 가득 차면 즉시 거절)
+            AtomicInteger threadCount = new AtomicInteger();
+            this.fanoutExecutor = new ThreadPoolExecutor(fanoutConcurrency, fanoutConcurrency,
+                    60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(fanoutQueueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "weather-fanout-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        this.forecastCache = new ExpiringLruCache<>(cacheMaxSize, clock);
+        this.lastGoodSnapshots = new ExpiringLruCache<>(cacheMaxSize, clock);
+        this.staleMaxAge = Duration.ofMinutes(staleMaxAgeMinutes);
+        this.staleServed = metrics.counter("weather.stale.served", "최신 발표분 대신 격자의 마지막 예보로 응답한 횟수");
+        this.inFlightRequests = new SingleFlight<>(Duration.ofMillis(coalesceTimeoutMs));
+        metrics.bindForecastCache(forecastCache);
+        metrics.gauge("weather.upstream.in_flight", "진행 중인 기상청 호출 수 (블로킹 경로)", inFlightRequests::inFlightCount);
         loadCityCoordinates();
     }
 
+    @PreDestroy
+    public void shutdown() {
+        fanoutExecutor.shutdownNow();
+    }
+
     private void loadCityCoordinates() {
         try {
             ObjectMapper objectMapper = new ObjectMapper();
@@ -35,125 +153,48 @@ public class WeatherService {
                     new ClassPathResource("city-coordinates.json").getInputStream(),
                     new TypeReference<Map<String, Integer[]>>() {}
             );
+            nearestCityLookup = new NearestCityLookup(cityCoordinates);
+            cityNameIndex = new CityNameIndex(cityCoordinates.keySet());
         } catch (IOException e) {
             throw new RuntimeException("🚨 도시 좌표 데이터를 불러오는 중 오류 발생: " + e.getMessage());
         }
     }
 
+    // 가나다순 (기동 시 한 번 정렬, 수정 불가)
     public List<String> getCityNames() {
-        List<String> cityList = new ArrayList<>(cityCoordinates.keySet());
-        Collections.sort(cityList); // 가나다순 정렬
-        return cityList;
+        return cityNameIndex.names();
     }
 
-    // 기상청 좌표 변환을 위한 상수 추가
-    private static final double RE = 6371.00877; // 지구 반경(km)
-    private static final double GRID = 5.0; // 격자 간격(km)
-    private static final double SLAT1 = 30.0; // 표준 위도 1
-    private static final double SLAT2 = 60.0; // 표준 위도 2
-    private static final double OLON = 126.0; // 기준점 경도
-    private static final double OLAT = 38.0; // 기준점 위도
-    private static final double XO = 43; // 기준점 X 좌표
-    private static final double YO = 136; // 기준점 Y 좌표
-
-
-    private double[] gridToLatitudeLongitude(int nx, int ny) {
-        double DEGRAD = Math.PI / 180.0;
-        double RADDEG = 180.0 / Math.PI;
-
-        double re = RE / GRID;
-        double slat1 = SLAT1 * DEGRAD;
-        double slat2 = SLAT2 * DEGRAD;
-        double olon = OLON * DEGRAD;
-        double olat = OLAT * DEGRAD;
-
-        double sn = Math.tan(Math.PI * 0.25 + slat2 * 0.5) / Math.tan(Math.PI * 0.25 + slat1 * 0.5);
-        sn = Math.log(Math.cos(slat1) / Math.cos(slat2)) / Math.log(sn);
-        double sf = Math.pow(Math.tan(Math.PI * 0.25 + slat1 * 0.5), sn) * Math.cos(slat1) / sn;
-        double ro = Math.pow(Math.tan(Math.PI * 0.25 + olat * 0.5), -sn) * sf * re;
-
-        // ✅ **기존의 (nx - XO), (ro - ny + YO) 계산을 정확하게 수정**
-        double x = nx - XO;
-        double y = ro - (ny - YO);
-
-        double ra = Math.sqrt(x * x + y * y);
-        double theta = Math.atan2(x, y);
-        double alat = Math.pow((re * sf / ra), (1.0 / sn));
-        alat = 2.0 * Math.atan(alat) - Math.PI * 0.5;
-        double alon = theta / sn + olon;
-
-        System.out.println("✅ 변환된 위경도 (수정 후): 위도=" + (alat * RADDEG) + ", 경도=" + (alon * RADDEG));
-        return new double[]{alat * RADDEG, alon * RADDEG};
+    // ✅ 자동완성 검색 (부분 일치, 초성 검색, 관련도 순)
+    public List<String> searchCities(String query, int limit) {
+        return cityNameIndex.search(query, limit);
     }
 
+    public String getCityListVersion() {
+        return cityNameIndex.version();
+    }
 
     public String findClosestCity(double userLat, double userLon) {
-        int[] userGrid = latitudeLongitudeToGrid(userLat, userLon);
-
-        System.out.println("✅ [GPS 확인] 받은 위도: " + userLat + ", 경도: " + userLon);
-        System.out.println("✅ [격자 변환] 변환된 nx: " + userGrid[0] + ", ny: " + userGrid[1]);
-
-        // 🚀 가장 가까운 도시 찾기
-        String closestCity = adjustCoordinatesToNearestGrid(userGrid[0], userGrid[1]);
-        System.out.println("🎯 [결과] 최종 선택된 도시: " + closestCity);
-
-        return closestCity;
+        int[] userGrid = KmaGridProjection.latitudeLongitudeToGrid(userLat, userLon);
+        return nearestCityLookup.nearestCity(userGrid[0], userGrid[1]);
     }
 
+    // ✅ 여러 좌표를 한 번에 변환 (입력이 크면 여러 코어로 나눠 처리)
+    public String[] findClosestCities(List<CoordinateDTO> coordinates) {
+        String[] cities = new String[coordinates.size()];
 
-    private String adjustCoordinatesToNearestGrid(int nx, int ny) {
-        System.out.println("🚀 [도시 매칭] 현재 격자 좌표: nx=" + nx + ", ny=" + ny);
-
-        String closestCity = null;
-        double minDistance = Double.MAX_VALUE;
-
-        for (Map.Entry<String, Integer[]> entry : cityCoordinates.entrySet()) {
-            int gridNx = entry.getValue()[0];
-            int gridNy = entry.getValue()[1];
-            String city = entry.getKey();
-
-            double distance = Math.sqrt(Math.pow(nx - gridNx, 2) + Math.pow(ny - gridNy, 2));
-
-            if (distance < minDistance) {
-                minDistance = distance;
-                closestCity = city;
-            }
+        IntStream indexes = IntStream.range(0, cities.length);
+        if (cities.length >= PARALLEL_BATCH_THRESHOLD) {
+            indexes = indexes.parallel();
         }
-        return closestCity;
+        indexes.forEach(i -> {
+            CoordinateDTO coordinate = coordinates.get(i);
+            cities[i] = findClosestCity(coordinate.getLat(), coordinate.getLon());
+        });
+        return cities;
     }
 
 
-    private int[] latitudeLongitudeToGrid(double lat, double lon) {
-        double DEGRAD = Math.PI / 180.0;
-        double re = RE / GRID;
-        double slat1 = SLAT1 * DEGRAD;
-        double slat2 = SLAT2 * DEGRAD;
-        double olon = OLON * DEGRAD;
-        double olat = OLAT * DEGRAD;
-
-        double sn = Math.tan(Math.PI * 0.25 + slat2 * 0.5) / Math.tan(Math.PI * 0.25 + slat1 * 0.5);
-        sn = Math.log(Math.cos(slat1) / Math.cos(slat2)) / Math.log(sn);
-        double sf = Math.pow(Math.tan(Math.PI * 0.25 + slat1 * 0.5), sn) * Math.cos(slat1) / sn;
-        double ro = Math.pow(Math.tan(Math.PI * 0.25 + olat * 0.5), -sn) * sf * re;
-        double ra = Math.pow(Math.tan(Math.PI * 0.25 + lat * DEGRAD * 0.5), -sn) * sf * re;
-        double theta = lon * DEGRAD - olon;
-        if (theta > Math.PI) theta -= 2.0 * Math.PI;
-        if (theta < -Math.PI) theta += 2.0 * Math.PI;
-        theta *= sn;
-
-        int x = (int) Math.round(ra * Math.sin(theta) + XO);
-        int y = (int) Math.round(ro - ra * Math.cos(theta) + YO);
-
-        // ✅ 좌표 변환 결과 확인 로그 추가
-        System.out.println("✅ [좌표 변환] 위도: " + lat + ", 경도: " + lon + " → 격자 nx: " + x + ", ny: " + y);
-
-        return new int[]{x, y};
-    }
-
-
-
-
-
     // ✅ 하버사인 공식 (거리 계산)
     private double haversine(double lat1, double lon1, double lat2, double lon2) {
         final int R = 6371;
@@ -168,70 +209,239 @@ public class WeatherService {
 
 
     public Map<String, String> getFormattedWeatherData(String city) {
-        Map<String, Object> weatherData = getWeatherData(city);
+        return getWeather(city).weather();
+    }
 
-        if (weatherData == null) {
-            return Map.of("error", "날씨 데이터를 가져오지 못했습니다. (응답 없음)");
+    // ✅ 화면용 예보와 그 원본 스냅샷 (컨트롤러에서 ETag/Last-Modified 계산에 사용)
+    public FormattedWeather getWeather(String city) {
+        return serveCity(city, this::toFormattedWeather, FormattedWeather::error);
+    }
+
+    // ✅ 시간대별 예보 (단건 조회와 같은 캐시된 스냅샷의 모든 예보 시각, 기상청을 따로 호출하지 않음)
+    public WeatherTimeline getTimeline(String city) {
+        return serveCity(city, served -> new WeatherTimeline(served.snapshot(),
+                formatTimeline(served.snapshot()), served.stale(), ageSeconds(served)), WeatherTimeline::error);
+    }
+
+    private <T> T serveCity(String city, Function<ServedSnapshot, T> format, Function<String, T> error) {
+        ServedSnapshot served;
+        try {
+            served = serveWeatherData(gridCellOrDefault(city));
+        } catch (Exception e) {
+            log.warn("🚨 API 호출 중 오류 발생 (city={}): {}", city, e.getMessage());
+            return error.apply("날씨 데이터를 가져오지 못했습니다. (응답 없음)");
         }
 
-        if (!weatherData.containsKey("response")) {
-            System.out.println(weatherData + "1231212123");
-            return Map.of("error", "날씨 데이터를 가져오지 못했습니다. (response 없음)");
+        if (served == null) {
+            return error.apply("기상청 API에 해당 좌표의 데이터가 없습니다.");
         }
+        return format.apply(served);
+    }
 
-        Map<String, String> formattedData = new LinkedHashMap<>();
+    FormattedWeather toFormattedWeather(ServedSnapshot served) {
+        return new FormattedWeather(served.snapshot(), formatWeatherData(served.snapshot()), served.stale(), ageSeconds(served));
+    }
 
+    // stale이면 그 예보의 발표 후 경과 시간
+    private long ageSeconds(ServedSnapshot served) {
+        if (!served.stale()) {
+            return 0;
+        }
+        ForecastSnapshot snapshot = served.snapshot();
+        Instant publishedAt = BaseTimeResolver.Slot.of(snapshot.baseDate(), snapshot.baseTime()).publishedAt();
+        return Math.max(0, Duration.between(publishedAt, clock.instant()).toSeconds());
+    }
+
+    /**
+     * 여러 도시의 날씨를 한 번에 조회.
+     * 같은 격자를 쓰는 도시는 한 번만 조회하고, 서로 다른 격자는 동시에 조회한다.
+     * 마감 시간 안에 끝나지 않은 격자의 도시는 timedOut으로 돌려준다.
+     */
+    public WeatherBatchResult getFormattedWeatherBatch(Collection<String> cities) {
+        Set<String> requested = new LinkedHashSet<>(cities);
+
+        // ✅ 격자 단위로 묶기
+        Map<String, GridCell> cellByCity = new HashMap<>();
+        Map<GridCell, CompletableFuture<ServedSnapshot>> futures = new LinkedHashMap<>();
+        for (String city : requested) {
+            GridCell cell = findGridCell(city);
+            if (cell == null) {
+                continue;
+            }
+            cellByCity.put(city, cell);
+            futures.computeIfAbsent(cell, this::serveAsync);
+        }
+
+        // ✅ 전체 마감 시간까지만 기다림 (끝나지 않은 조회는 계속 진행되어 캐시를 채움)
         try {
-            Map responseBody = (Map) ((Map) weatherData.get("response")).get("body");
-            List<Map<String, Object>> items = (List<Map<String, Object>>) ((Map) responseBody.get("items")).get("item");
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .get(batchDeadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // 개별 결과에서 처리
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
 
-            // ✅ 최신 예보 데이터만 저장 (각 category당 가장 가까운 시간 데이터 1개만 유지)
-            Map<String, Map<String, Object>> latestData = new HashMap<>();
+        Map<GridCell, Map<String, String>> formattedByCell = new HashMap<>();
+        Map<String, Map<String, String>> weather = new LinkedHashMap<>();
+        List<String> timedOut = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
 
-            for (Map<String, Object> item : items) {
-                String category = (String) item.get("category");
-                String fcstTime = item.get("fcstTime").toString();
+        for (String city : requested) {
+            GridCell cell = cellByCity.get(city);
+            if (cell == null) {
+                weather.put(city, Map.of("error", "등록되지 않은 도시입니다."));
+                continue;
+            }
 
-                if (!latestData.containsKey(category) || fcstTime.compareTo(latestData.get(category).get("fcstTime").toString()) < 0) {
-                    latestData.put(category, item);
-                }
+            CompletableFuture<ServedSnapshot> future = futures.get(cell);
+            if (!future.isDone()) {
+                timedOut.add(city);
+                weather.put(city, Map.of("error", "날씨 데이터 조회 시간이 초과되었습니다."));
+                continue;
             }
+            if (!future.isCompletedExceptionally() && future.join() != null && future.join().stale()) {
+                stale.add(city);
+            }
+            weather.put(city, formattedByCell.computeIfAbsent(cell, c -> formatResult(future)));
+        }
 
-            // ✅ 중복 제거 후 정리
-            for (Map.Entry<String, Map<String, Object>> entry : latestData.entrySet()) {
-                String category = entry.getKey();
-                String value = entry.getValue().get("fcstValue").toString();
-
-                switch (category) {
-                    case "T1H":
-                        formattedData.put("temperature", value + "°C");
-                        break;
-                    case "REH":
-                        formattedData.put("humidity", value + "%");
-                        break;
-                    case "WSD":
-                        formattedData.put("windSpeed", value + " m/s");
-                        break;
-                    case "PTY":
-                        formattedData.put("precipitationType", getPrecipitationType(value));
-                        break;
-                    case "SKY":
-                        formattedData.put("skyCondition", getSkyCondition(value));
-                        break;
-                    default:
-                        formattedData.put(category, value);
-                        break;
-                }
+        return new WeatherBatchResult(weather, timedOut, stale);
+    }
+
+    // ✅ 캐시(또는 마지막 예보)로 답할 수 있으면 스레드를 쓰지 않고 바로 완료
+    private CompletableFuture<ServedSnapshot> serveAsync(GridCell cell) {
+        ServedSnapshot served = serveFromCache(cell);
+        if (served != null) {
+            if (served.stale()) {
+                recordStaleServed();
+                refreshInBackground(cell);
             }
+            return CompletableFuture.completedFuture(served);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                ForecastSnapshot snapshot = fetchWithPermit(cell);
+                return snapshot == null ? null : ServedSnapshot.fresh(snapshot);
+            }, fanoutExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("🚨 데이터 파싱 중 오류 발생: " + e.getMessage());
-            return Map.of("error", "날씨 데이터 파싱 중 오류가 발생했습니다.");
+    private ForecastSnapshot fetchWithPermit(GridCell cell) {
+        try {
+            fanoutPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("격자 조회 대기 중 인터럽트", e);
+        }
+        try {
+            return getWeatherData(cell.nx(), cell.ny());
+        } finally {
+            fanoutPermits.release();
+        }
+    }
+
+    private Map<String, String> formatResult(CompletableFuture<ServedSnapshot> future) {
+        if (future.isCompletedExceptionally()) {
+            return Map.of("error", "날씨 데이터를 가져오지 못했습니다. (응답 없음)");
+        }
+        ServedSnapshot served = future.join();
+        if (served == null) {
+            return Map.of("error", "기상청 API에 해당 좌표의 데이터가 없습니다.");
+        }
+        return formatWeatherData(served.snapshot());
+    }
+
+    // ✅ 항목별 최신 예보 값을 화면용 문자열로 정리
+    public Map<String, String> formatWeatherData(ForecastSnapshot snapshot) {
+        Map<String, String> formattedData = new LinkedHashMap<>();
+
+        for (ForecastCategory category : ForecastCategory.values()) {
+            if (!snapshot.has(category)) {
+                continue;
+            }
+            String value = snapshot.valueText(category);
+
+            switch (category) {
+                case T1H:
+                    value = value + "°C";
+                    break;
+                case REH:
+                    value = value + "%";
+                    break;
+                case WSD:
+                    value = value + " m/s";
+                    break;
+                case PTY:
+                    value = getPrecipitationType(value);
+                    break;
+                case SKY:
+                    value = getSkyCondition(value);
+                    break;
+                default:
+                    break;
+            }
+            formattedData.put(fieldName(category), value);
         }
         return formattedData;
     }
 
+    // ✅ 예보 시각별 값을 항목마다 배열로 정리 (차트용: 숫자는 단위 없이 숫자로, 값이 없는 시각은 null)
+    public Map<String, Object> formatTimeline(ForecastSnapshot snapshot) {
+        int hourCount = snapshot.hourCount();
+        Map<String, Object> timeline = new LinkedHashMap<>();
+
+        List<String> times = new ArrayList<>(hourCount);
+        for (int hour = 0; hour < hourCount; hour++) {
+            int date = snapshot.fcstDate(hour);
+            int time = snapshot.fcstTime(hour);
+            times.add(String.format("%04d-%02d-%02dT%02d:%02d",
+                    date / 10_000, date / 100 % 100, date % 100, time / 100, time % 100));
+        }
+        timeline.put("times", times);
 
+        for (ForecastCategory category : ForecastCategory.values()) {
+            if (!snapshot.has(category)) {
+                continue;
+            }
+            List<Object> series = new ArrayList<>(hourCount);
+            for (int hour = 0; hour < hourCount; hour++) {
+                series.add(timelineValue(snapshot, category, hour));
+            }
+            timeline.put(fieldName(category), series);
+        }
+        timeline.put("units", TIMELINE_UNITS);
+        return timeline;
+    }
+
+    private Object timelineValue(ForecastSnapshot snapshot, ForecastCategory category, int hour) {
+        if (!snapshot.has(category, hour)) {
+            return null;
+        }
+        switch (category) {
+            case PTY:
+                return getPrecipitationType(snapshot.valueText(category, hour));
+            case SKY:
+                return getSkyCondition(snapshot.valueText(category, hour));
+            default:
+                // 숫자가 아닌 값(예: RN1 "강수없음", "1.0mm")은 원문 그대로
+                float value = snapshot.value(category, hour);
+                return Float.isNaN(value) ? snapshot.valueText(category, hour) : (Object) value;
+        }
+    }
+
+    private static String fieldName(ForecastCategory category) {
+        switch (category) {
+            case T1H: return "temperature";
+            case REH: return "humidity";
+            case WSD: return "windSpeed";
+            case PTY: return "precipitationType";
+            case SKY: return "skyCondition";
+            default: return category.name();
+        }
+    }
 
     private String getSkyCondition(String value) {
         switch (value) {
@@ -258,136 +468,265 @@ public class WeatherService {
 
 
 
-    private Map<String, Object> getWeatherData(String city) {
-        boolean usePreviousDay = false;
-        String baseTime = getLatestBaseTime(); // 가장 최근 base_time 가져오기
-        String baseDate = getBaseDate(baseTime, usePreviousDay);
-
+    // 등록되지 않은 도시는 기본 격자(서울)로 조회
+    GridCell gridCellOrDefault(String city) {
         Integer[] coordinates = cityCoordinates.getOrDefault(city, new Integer[]{60, 127});
-        int nx = coordinates[0];
-        int ny = coordinates[1];
-
-        String encodedServiceKey = URLEncoder.encode(SERVICE_KEY, StandardCharsets.UTF_8);
-
-        // ✅ 1️⃣ 최초 요청
-        Map<String, Object> response = requestWeatherData(baseDate, baseTime, nx, ny, encodedServiceKey);
+        return new GridCell(coordinates[0], coordinates[1]);
+    }
 
-        // 🚨 NO_DATA 발생 시, 이전 base_time으로 재요청
-        while (response == null || !isValidResponse(response)) {
-            System.out.println("🚨 NO DATA! Trying an earlier base_time...");
+    // ✅ 캐시(또는 마지막 예보)에 있는 격자 예보만 돌려줌 (기상청을 기다리지 않고, 최신분이 없으면 뒤에서 갱신)
+    public ForecastSnapshot peekWeather(GridCell cell) {
+        ServedSnapshot served = serveFromCache(cell);
+        if (served == null || served.stale()) {
+            refreshInBackground(cell);
+        }
+        return served == null ? null : served.snapshot();
+    }
 
-            baseTime = getAdjustedBaseTime(baseTime); // 이전 base_time 가져오기
-            if (baseTime.equals("2300")) { // 모든 base_time을 확인했으면 하루 전 데이터 사용
-                usePreviousDay = true;
-                baseDate = getBaseDate(baseTime, usePreviousDay);
+    /**
+     * 사용자 요청용 조회 (stale-while-revalidate).
+     * 최신 발표분이 캐시에 없고 격자의 마지막 예보가 있으면 그것을 바로 돌려주고 갱신은 뒤에서 한다.
+     * 둘 다 없을 때만 요청 스레드에서 기상청을 호출한다 (서킷이 열려 있으면 바로 실패).
+     */
+    ServedSnapshot serveWeatherData(GridCell cell) {
+        ServedSnapshot served = serveFromCache(cell);
+        if (served != null) {
+            if (served.stale()) {
+                recordStaleServed();
+                refreshInBackground(cell);
             }
+            return served;
+        }
+        ForecastSnapshot snapshot = getWeatherData(cell.nx(), cell.ny());
+        return snapshot == null ? null : ServedSnapshot.fresh(snapshot);
+    }
 
-            response = requestWeatherData(baseDate, baseTime, nx, ny, encodedServiceKey);
-
-            // 만약 유효한 데이터가 나오면 바로 반환
-            if (response != null && isValidResponse(response)) {
-                System.out.println("✅ 최신 기상 데이터 확보 (base_time=" + baseTime + ")");
-                return response;
+    // ✅ 캐시만으로 답하기: 최신 발표분이 있으면 fresh, 없고 마지막 예보가 있으면 stale, 둘 다 없으면 null
+    // (weather.stale.served는 사용자 응답 경로에서만 센다. SSE 구독 등 peekWeather 조회는 포함하지 않음)
+    ServedSnapshot serveFromCache(GridCell cell) {
+        List<BaseTimeResolver.Slot> candidates = baseTimeResolver.candidates();
+        if (!candidates.isEmpty()) {
+            BaseTimeResolver.Slot latest = candidates.get(0);
+            ForecastSnapshot cached = forecastCache.get(new ForecastKey(cell.nx(), cell.ny(), latest.baseDate(), latest.baseTime()));
+            if (cached != null) {
+                return ServedSnapshot.fresh(cached);
             }
         }
 
-        return Map.of("error", "기상청 API에 해당 좌표의 데이터가 없습니다.");
+        ForecastSnapshot lastGood = lastGoodSnapshots.get(cell);
+        if (lastGood == null) {
+            return null;
+        }
+        return ServedSnapshot.stale(lastGood);
     }
 
+    // 사용자 응답을 마지막 예보로 대신했을 때 (블로킹/리액티브 경로 공통)
+    void recordStaleServed() {
+        staleServed.increment();
+    }
 
-
-
-    private Map<String, Object> requestWeatherData(String baseDate, String baseTime, int nx, int ny, String encodedServiceKey) {
-        URI uri = UriComponentsBuilder.fromHttpUrl(API_URL)
-                .queryParam("serviceKey", encodedServiceKey)
-                .queryParam("dataType", "JSON")
-                .queryParam("numOfRows", 50)
-                .queryParam("pageNo", 1)
-                .queryParam("base_date", baseDate)
-                .queryParam("base_time", baseTime)
-                .queryParam("nx", nx)
-                .queryParam("ny", ny)
-                .build(true)
-                .toUri();
-
+    // ✅ 격자 갱신을 fan-out Executor에 맡김 (이미 갱신 중이거나 서킷이 열려 있으면 건너뜀)
+    void refreshInBackground(GridCell cell) {
+        if (!circuitBreaker.allowsCalls() || !refreshing.add(cell)) {
+            return;
+        }
         try {
-            Map<String, Object> response = restTemplate.getForObject(uri, Map.class);
-
-            if (response == null || !response.containsKey("response")) {
-                System.out.println("🚨 기상청 API NO_DATA (nx=" + nx + ", ny=" + ny + ")");
-                return Map.of("error", "NO_DATA");
-            }
-
-            System.out.println("🔍 기상청 API 응답 데이터 (nx=" + nx + ", ny=" + ny + ", baseTime=" + baseTime + "): " + response);
-            return response;
-        } catch (Exception e) {
-            System.err.println("🚨 API 호출 중 오류 발생: " + e.getMessage());
-            return Map.of("error", "날씨 데이터를 가져오지 못했습니다.");
+            fanoutExecutor.execute(() -> {
+                try {
+                    fetchWithPermit(cell);
+                } catch (RuntimeException e) {
+                    log.debug("백그라운드 갱신 실패 (nx={}, ny={}): {}", cell.nx(), cell.ny(), e.getMessage());
+                } finally {
+                    refreshing.remove(cell);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(cell);
         }
     }
 
+    private ForecastSnapshot getWeatherData(int nx, int ny) {
+        List<BaseTimeResolver.Slot> candidates = baseTimeResolver.candidates();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        // ✅ 같은 격자 + 같은 발표 시각이면 캐시된 응답 재사용
+        BaseTimeResolver.Slot latest = candidates.get(0);
+        ForecastKey cacheKey = new ForecastKey(nx, ny, latest.baseDate(), latest.baseTime());
+        ForecastSnapshot cached = forecastCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
 
+        return inFlightRequests.execute(cacheKey, () -> loadWeatherData(nx, ny, candidates));
+    }
 
-    private String getLatestBaseTime() {
-        // 기상청 API에서 제공하는 base_time 목록 (최신 순서)
-        String[] availableTimes = {"2300", "2000", "1700", "1400", "1100", "0800", "0500", "0200"};
+    private ForecastSnapshot loadWeatherData(int nx, int ny, List<BaseTimeResolver.Slot> candidates) {
+        // ✅ 최신 발표 시각부터 최대 N번까지만 시도 (NO_DATA면 이전 발표 시각으로)
+        for (int depth = 0; depth < candidates.size(); depth++) {
+            BaseTimeResolver.Slot slot = candidates.get(depth);
+            ForecastKey key = new ForecastKey(nx, ny, slot.baseDate(), slot.baseTime());
+
+            // 앞선 요청이 방금 캐시를 채웠을 수 있으므로 한 번 더 확인
+            ForecastSnapshot cached = forecastCache.peek(key);
+            if (cached != null) {
+                metrics.recordFallbackDepth(depth);
+                return cached;
+            }
 
-        SimpleDateFormat sdf = new SimpleDateFormat("HHmm");
-        int now = Integer.parseInt(sdf.format(new Date()));
+            // 선조회 마감으로 취소되면 중단 (null을 돌려주면 같이 기다리던 요청까지 데이터 없음으로 끝남)
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("예보 조회 취소 (nx=" + nx + ", ny=" + ny + ")");
+            }
 
-        // 현재 시간보다 작은 base_time 중 가장 최근 것을 선택
-        for (String time : availableTimes) {
-            if (now >= Integer.parseInt(time)) {
-                System.out.println("⏰ 선택된 base_time: " + time);
-                return time;
+            // 네트워크/서버 오류는 이전 발표 시각으로 바꿔도 해결되지 않으므로 그대로 전달
+            try {
+                ForecastSnapshot snapshot = requestWeatherData(slot, nx, ny);
+                if (!snapshot.isEmpty()) {
+                    storeSnapshot(key, slot, snapshot);
+                    metrics.recordFallbackDepth(depth);
+                    return snapshot;
+                }
+            } catch (KmaApiException e) {
+                if (!e.isNoData()) {
+                    throw e;
+                }
             }
+
+            log.debug("NO_DATA, 이전 발표 시각으로 재시도 (nx={}, ny={}, base_time={})", nx, ny, slot.baseTime());
+            metrics.recordNoData(WeatherMetrics.BLOCKING);
+            baseTimeResolver.markMissing(slot);
         }
 
-        // 기본값: 02:00 이전이면 전날 23:00 데이터 사용
-        return "2300";
+        return null;
     }
 
+    // 등록되지 않은 도시면 null
+    public GridCell findGridCell(String city) {
+        Integer[] coordinates = cityCoordinates.get(city);
+        return coordinates == null ? null : new GridCell(coordinates[0], coordinates[1]);
+    }
 
+    ForecastSnapshot cachedSnapshot(ForecastKey key) {
+        return forecastCache.get(key);
+    }
 
-    private String getBaseDate(String baseTime, boolean usePreviousDay) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd");
-        Calendar calendar = Calendar.getInstance();
+    // 통계에 남기지 않고 확인
+    ForecastSnapshot peekSnapshot(ForecastKey key) {
+        return forecastCache.peek(key);
+    }
 
-        // ✅ 만약 `usePreviousDay`가 true이면 하루 전으로 설정
-        if (usePreviousDay) {
-            calendar.add(Calendar.DATE, -1);
-            System.out.println("🗓️ 전날 데이터로 변경: " + dateFormat.format(calendar.getTime()));
+    // ✅ 받아온 발표분을 제공 확인으로 기록하고 다음 발표분 제공 시각까지 캐시
+    void storeSnapshot(ForecastKey key, BaseTimeResolver.Slot slot, ForecastSnapshot snapshot) {
+        baseTimeResolver.markAvailable(slot);
+        forecastCache.put(key, snapshot, baseTimeResolver.expiryFor(slot));
+        rememberLastGood(snapshot);
+        for (Consumer<ForecastSnapshot> listener : snapshotListeners) {
+            listener.accept(snapshot);
         }
+    }
 
-        return dateFormat.format(calendar.getTime());
+    public void addSnapshotListener(Consumer<ForecastSnapshot> listener) {
+        snapshotListeners.add(listener);
     }
 
-    private boolean isValidResponse(Map<String, Object> response) {
-        if (response == null || !response.containsKey("response")) {
-            return false;
+    // ✅ 저장해 둔 예보로 캐시 채우기 (기동 시, 기상청 호출 없이 / 리스너에는 다시 알리지 않음)
+    public void restoreSnapshot(ForecastSnapshot snapshot) {
+        BaseTimeResolver.Slot slot = BaseTimeResolver.Slot.of(snapshot.baseDate(), snapshot.baseTime());
+        ForecastKey key = new ForecastKey(snapshot.nx(), snapshot.ny(), slot.baseDate(), slot.baseTime());
+        baseTimeResolver.markAvailable(slot);
+        forecastCache.put(key, snapshot, baseTimeResolver.expiryFor(slot));
+        rememberLastGood(snapshot);
+    }
+
+    // 이미 더 최근 발표분이 있으면 유지 (NO_DATA로 이전 발표분을 받은 경우)
+    private void rememberLastGood(ForecastSnapshot snapshot) {
+        GridCell cell = new GridCell(snapshot.nx(), snapshot.ny());
+        ForecastSnapshot previous = lastGoodSnapshots.peek(cell);
+        if (previous != null && baseOrder(previous) > baseOrder(snapshot)) {
+            return;
         }
+        lastGoodSnapshots.put(cell, snapshot, staleMaxAge);
+    }
+
+    private static long baseOrder(ForecastSnapshot snapshot) {
+        return snapshot.baseDate() * 10_000L + snapshot.baseTime();
+    }
 
-        Map<String, Object> responseBody = (Map<String, Object>) response.get("response");
-        if (responseBody == null || !responseBody.containsKey("body")) {
-            return false;
+    // ✅ 도시 목록에 등장하는 서로 다른 격자 좌표 (여러 도시가 같은 격자를 공유)
+    public Set<GridCell> getDistinctGridCells() {
+        Set<GridCell> cells = new LinkedHashSet<>();
+        for (Integer[] coordinates : cityCoordinates.values()) {
+            cells.add(new GridCell(coordinates[0], coordinates[1]));
         }
+        return cells;
+    }
 
-        return true;
+    // ✅ 백그라운드 선조회: 캐시에 없으면 기상청에서 받아 캐시를 채움
+    public boolean refreshGrid(GridCell cell) {
+        return getWeatherData(cell.nx(), cell.ny()) != null;
     }
 
-    private String getAdjustedBaseTime(String currentBaseTime) {
-        String[] availableTimes = {"2300", "2000", "1700", "1400", "1100", "0800", "0500", "0200"};
+    // ✅ 캐시 적중/실패 통계
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(forecastCache.stats());
+        stats.put("inFlight", inFlightRequests.inFlightCount());
+        stats.put("upstreamLoads", inFlightRequests.leaderCount());
+        stats.put("coalesced", inFlightRequests.coalescedCount());
+        stats.put("lastGood", lastGoodSnapshots.size());
+        stats.put("circuit", circuitBreaker.state().name());
+        return stats;
+    }
 
-        for (int i = availableTimes.length - 1; i >= 0; i--) {
-            if (availableTimes[i].equals(currentBaseTime) && i > 0) {
-                System.out.println("⏪ `NO_DATA`, 이전 base_time 사용: " + availableTimes[i - 1]);
-                return availableTimes[i - 1]; // 이전 base_time 반환
-            }
+
+
+
+    // ✅ 응답을 Map으로 올리지 않고 스트리밍 파서로 바로 읽음
+    private ForecastSnapshot requestWeatherData(BaseTimeResolver.Slot slot, int nx, int ny) {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            throw new CircuitBreakerOpenException(circuitBreaker.name());
         }
+        long started = System.nanoTime();
+        String outcome = WeatherMetrics.ERROR;
+        try {
+            ForecastSnapshot snapshot = restTemplate.execute(buildRequestUri(slot, nx, ny), HttpMethod.GET, null,
+                    response -> metrics.parse(response.getBody()));
+            outcome = snapshot.isEmpty() ? WeatherMetrics.NO_DATA : WeatherMetrics.SUCCESS;
+            return snapshot;
+        } catch (RuntimeException e) {
+            outcome = WeatherMetrics.outcomeOf(e);
+            throw e;
+        } finally {
+            metrics.recordUpstream(WeatherMetrics.BLOCKING, outcome, System.nanoTime() - started);
+            recordCircuitOutcome(permit, outcome);
+        }
+    }
 
-        // 만약 더 이상 이전 시간이 없으면 가장 마지막 시간(`2300`) 사용
-        System.out.println("⏪ `NO_DATA`, 사용 가능한 base_time 없음 → 기본값 2300 사용");
-        return "2300";
+    // ✅ NO_DATA도 기상청이 정상 응답한 것이므로 성공, 취소(인터럽트)된 호출은 판단하지 않음
+    void recordCircuitOutcome(CircuitBreaker.Permit permit, String outcome) {
+        if (WeatherMetrics.SUCCESS.equals(outcome) || WeatherMetrics.NO_DATA.equals(outcome)) {
+            circuitBreaker.onSuccess(permit);
+        } else if (Thread.currentThread().isInterrupted()) {
+            circuitBreaker.release(permit);
+        } else {
+            circuitBreaker.onFailure(permit);
+        }
+    }
+
+    URI buildRequestUri(BaseTimeResolver.Slot slot, int nx, int ny) {
+        return UriComponentsBuilder.fromHttpUrl(apiUrl)
+                .queryParam("serviceKey", ENCODED_SERVICE_KEY)
+                .queryParam("dataType", "JSON")
+                .queryParam("numOfRows", 60) // 10개 항목 × 6시간
+                .queryParam("pageNo", 1)
+                .queryParam("base_date", slot.baseDate())
+                .queryParam("base_time", slot.baseTime())
+                .queryParam("nx", nx)
+                .queryParam("ny", ny)
+                .build(true)
+                .toUri();
     }
 
 
@@ -0,0 +1,31 @@
+package com.weather.weather;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 도시의 시간대별 예보 조회 결과 (단건 조회와 같은 캐시된 스냅샷에서 만든다).
+ * 조회에 실패하면 snapshot은 null이고 timeline에 error가 담긴다. stale, ageSeconds는 {@link FormattedWeather}와 같다.
+ */
+public record WeatherTimeline(ForecastSnapshot snapshot, Map<String, Object> timeline, boolean stale, long ageSeconds) {
+
+    public static WeatherTimeline error(String message) {
+        return new WeatherTimeline(null, Map.of("error", message), false, 0);
+    }
+
+    public boolean isAvailable() {
+        return snapshot != null;
+    }
+
+    // ✅ 시간대별 조회 응답 본문 (stale이면 stale, ageSeconds 추가)
+    public Map<String, Object> toResponseBody(String city) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("city", city);
+        body.put("timeline", timeline);
+        if (stale) {
+            body.put("stale", true);
+            body.put("ageSeconds", ageSeconds);
+        }
+        return body;
+    }
+}
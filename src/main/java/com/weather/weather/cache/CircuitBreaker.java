@@ -0,0 +1,209 @@
+package com.weather.weather.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업스트림 호출용 서킷 브레이커.
+ * 최근 windowSize번 호출의 실패율이 기준을 넘으면 openDuration 동안 호출을 바로 거절하고(OPEN),
+ * 그 뒤 한 번만 시험 호출을 보내(HALF_OPEN) 성공하면 다시 닫고, 실패하면 다시 연다.
+ * 결과는 호출을 허가받은 상태(세대)에서만 반영한다. 열리기 전에 허가받은 호출이 HALF_OPEN 중에 끝나도
+ * 시험 호출로 치지 않는다.
+ *
+ * <pre>
+ * CircuitBreaker.Permit permit = breaker.tryAcquire();
+ * if (permit == null) throw new CircuitBreakerOpenException(...);
+ * try { call(); breaker.onSuccess(permit); } catch (...) { breaker.onFailure(permit); }
+ * </pre>
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 최근 호출 결과 (원형 버퍼, true = 실패)
+    private final boolean[] window;
+    private int windowCount;
+    private int windowIndex;
+    private int failureCount;
+
+    private State state = State.CLOSED;
+    private Instant openUntil = Instant.MIN;
+    private Instant probeStartedAt;  // HALF_OPEN에서 진행 중인 시험 호출 (없으면 null)
+    private long generation;         // 열림/닫힘, 새 시험 호출마다 증가
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong opened = new AtomicLong();
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, Clock clock) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("0 < minimumCalls <= windowSize 이어야 합니다.");
+        }
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    // ✅ 호출 허가 (null이면 거절, OPEN 시간이 지났으면 시험 호출 하나만 허용)
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            if (state == State.OPEN && !now.isBefore(openUntil)) {
+                state = State.HALF_OPEN;
+                probeStartedAt = null;
+            }
+            if (state == State.CLOSED) {
+                return new Permit(generation);
+            }
+            // 시험 호출 결과가 끝내 오지 않으면 openDuration 뒤 다른 호출로 다시 시험
+            if (state == State.HALF_OPEN
+                    && (probeStartedAt == null || !now.isBefore(probeStartedAt.plus(openDuration)))) {
+                probeStartedAt = now;
+                generation++; // 시간이 지나 버려진 이전 시험 호출의 결과는 무시
+                return new Permit(generation);
+            }
+            rejected.incrementAndGet();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 상태를 바꾸지 않고 지금 호출이 허용될지만 확인 (백그라운드 갱신을 시작할지 판단용)
+    public boolean allowsCalls() {
+        lock.lock();
+        try {
+            return state != State.OPEN || !clock.instant().isBefore(openUntil);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                close();
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                open();
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (windowCount >= minimumCalls && (double) failureCount / windowCount >= failureRateThreshold) {
+                    open();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ✅ 결과를 판단할 수 없는 호출 (취소, 인터럽트) - 시험 호출 자리만 돌려줌
+    public void release(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation == generation && state == State.HALF_OPEN) {
+                probeStartedAt = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                failureCount--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = clock.instant().plus(openDuration);
+        probeStartedAt = null;
+        generation++;
+        opened.incrementAndGet();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeStartedAt = null;
+        generation++;
+        windowCount = 0;
+        windowIndex = 0;
+        failureCount = 0;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    public long openedCount() {
+        return opened.get();
+    }
+
+    /**
+     * tryAcquire로 받은 호출 허가. 결과를 알릴 때 그대로 돌려준다.
+     * HALF_OPEN에서는 같은 세대의 허가가 곧 시험 호출이다.
+     */
+    public static final class Permit {
+
+        private final long generation;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+    }
+}
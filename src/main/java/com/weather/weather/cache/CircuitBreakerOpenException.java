@@ -0,0 +1,11 @@
+package com.weather.weather.cache;
+
+/**
+ * 서킷 브레이커가 열려 있어 업스트림을 호출하지 않고 거절했을 때.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String name) {
+        super("서킷 브레이커가 열려 있어 호출하지 않았습니다: " + name);
+    }
+}
@@ -0,0 +1,7 @@
+package com.weather.weather.cache;
+
+/**
+ * 기상청 예보 캐시 키. 같은 격자(nx, ny)를 쓰는 도시들은 하나의 항목을 공유한다.
+ */
+public record ForecastKey(int nx, int ny, String baseDate, String baseTime) {
+}
@@ -0,0 +1,92 @@
+package com.weather.weather.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 요청을 하나로 합친다.
+ * 처음 들어온 호출자(leader)만 loader를 실행하고, 나머지는 그 결과(또는 예외)를 함께 받는다.
+ * leader가 취소되면({@link CancellationException}, 예: 선조회 마감) 기다리던 호출자는 결과를 받지 않고 다시 시도한다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            // ✅ 이미 진행 중인 요청이 있으면 그 결과를 기다림
+            coalesced.incrementAndGet();
+            try {
+                return await(key, existing);
+            } catch (CancellationException e) {
+                // leader만 취소된 것이면 이 호출자가 이어서 시도 (자신이 인터럽트됐으면 그대로 전달)
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                return execute(key, loader);
+            }
+        }
+
+        leaders.incrementAndGet();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("동일 요청 대기 시간 초과: " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("동일 요청 대기 중 인터럽트: " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long leaderCount() {
+        return leaders.get();
+    }
+
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+}
@@ -0,0 +1,28 @@
+package com.weather.weather.config;
+
+import com.weather.weather.WeatherMetrics;
+import com.weather.weather.cache.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class CircuitBreakerConfig {
+
+    // ✅ 기상청 호출 서킷 브레이커 (블로킹/논블로킹 경로가 함께 씀)
+    @Bean
+    public CircuitBreaker kmaCircuitBreaker(Clock clock,
+                                            WeatherMetrics metrics,
+                                            @Value("${weather.circuit-breaker.window-size:20}") int windowSize,
+                                            @Value("${weather.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                            @Value("${weather.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                            @Value("${weather.circuit-breaker.open-duration-ms:30000}") long openDurationMs) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("kma", windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofMillis(openDurationMs), clock);
+        metrics.bindCircuitBreaker(circuitBreaker);
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,17 @@
+package com.weather.weather.config;
+
+import com.weather.weather.BaseTimeResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // 기상청 발표 시각은 모두 한국 시간 기준
+    @Bean
+    public Clock clock() {
+        return Clock.system(BaseTimeResolver.KST);
+    }
+}
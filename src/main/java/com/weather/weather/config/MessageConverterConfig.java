@@ -0,0 +1,29 @@
+package com.weather.weather.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * JSON 외의 바이너리 응답 형식. Accept 헤더로 고르며, 따로 지정하지 않으면 계속 JSON.
+ * 스프링 부트의 Jackson 설정(spring.jackson.*, 등록된 모듈)을 그대로 쓰도록 부트의 빌더로 만든다.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    // ✅ Accept: application/cbor
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // ✅ Accept: application/x-jackson-smile
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -1,14 +1,70 @@
 package com.weather.weather.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    // ✅ 기상청 호출용 커넥션 풀 (keep-alive 재사용, 연결/응답 타임아웃)
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager kmaConnectionManager(
+            @Value("${weather.http.max-total:100}") int maxTotal,
+            @Value("${weather.http.max-per-route:50}") int maxPerRoute,
+            @Value("${weather.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${weather.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${weather.http.connection-ttl-seconds:300}") long connectionTtlSeconds) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(connectionTtlSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient kmaHttpClient(
+            PoolingHttpClientConnectionManager kmaConnectionManager,
+            @Value("${weather.http.pool-acquire-timeout-ms:1000}") long poolAcquireTimeoutMs,
+            @Value("${weather.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${weather.http.idle-evict-seconds:30}") long idleEvictSeconds) {
+        // 응답 압축(gzip/deflate)은 HttpClient 기본 설정으로 요청 헤더 추가 + 자동 해제됨
+        return HttpClients.custom()
+                .setConnectionManager(kmaConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient kmaHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(kmaHttpClient));
+    }
+
+    // ✅ 커넥션 풀 지표 (leased / available / pending / max)
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder kmaConnectionPoolMetrics(PoolingHttpClientConnectionManager kmaConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(kmaConnectionManager, "kma");
     }
 }
@@ -0,0 +1,26 @@
+package com.weather.weather.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드(Java 21) 생성 도우미. 스레드 이름 규칙(prefix + 번호)을 플랫폼 스레드 풀과 맞춘다.
+ * spring.threads.virtual.enabled=false(기본)이면 쓰이지 않고, 각 서비스는 기존 고정 크기
+ * 플랫폼 스레드 풀(동시 호출 수, 큐 크기 설정 그대로)로 동작한다.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    // ✅ weather-fanout-1, weather-fanout-2 ... 처럼 번호가 붙는 가상 스레드
+    public static ThreadFactory factory(String namePrefix) {
+        return Thread.ofVirtual().name(namePrefix, 1).factory();
+    }
+
+    // ✅ 작업마다 새 가상 스레드를 만드는 Executor
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(factory(namePrefix));
+    }
+}
@@ -0,0 +1,49 @@
+package com.weather.weather.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    // ✅ 논블로킹 기상청 호출용 커넥션 풀 (대기 요청은 스레드가 아니라 큐에서 기다림)
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider kmaReactiveConnectionProvider(
+            @Value("${weather.reactive.max-connections:500}") int maxConnections,
+            @Value("${weather.reactive.pending-acquire-max:5000}") int pendingAcquireMax,
+            @Value("${weather.reactive.pending-acquire-timeout-ms:1000}") long pendingAcquireTimeoutMs,
+            @Value("${weather.http.idle-evict-seconds:30}") long idleEvictSeconds,
+            @Value("${weather.http.connection-ttl-seconds:300}") long connectionTtlSeconds) {
+        return ConnectionProvider.builder("kma-reactive")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(idleEvictSeconds))
+                .maxLifeTime(Duration.ofSeconds(connectionTtlSeconds))
+                .evictInBackground(Duration.ofSeconds(idleEvictSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient kmaWebClient(ConnectionProvider kmaReactiveConnectionProvider,
+                                  @Value("${weather.http.connect-timeout-ms:2000}") int connectTimeoutMs,
+                                  @Value("${weather.http.read-timeout-ms:5000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(kmaReactiveConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .compress(true);
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
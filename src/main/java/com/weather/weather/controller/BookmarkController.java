@@ -1,16 +1,24 @@
 package com.weather.weather.controller;
 
+import com.weather.weather.WeatherBatchResult;
+import com.weather.weather.WeatherService;
+import com.weather.weather.entity.BookmarkBatchRequestDTO;
 import com.weather.weather.entity.BookmarkRequestDTO;
-import com.weather.weather.entity.User;
-import com.weather.weather.repository.UserRepository;
 import com.weather.weather.securiry.CustomOAuth2User;
 import com.weather.weather.service.BookmarkService;
+import com.weather.weather.service.ForecastPushService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/bookmarks")
@@ -18,17 +26,17 @@ import java.util.List;
 public class BookmarkController {
 
     private final BookmarkService bookmarkService;
-    private final UserRepository userRepository;
+    private final WeatherService weatherService;
+    private final ForecastPushService forecastPushService;
+
+    @Value("${weather.bookmarks.batch-max-size:100}")
+    private int batchMaxSize;
 
     // 즐찾 추가
     @PostMapping
     public ResponseEntity<?> addBookmark(@AuthenticationPrincipal CustomOAuth2User user, @RequestBody BookmarkRequestDTO request) {
         try {
-            // providerId를 기반으로 userId 조회
-            User userEntity = userRepository.findByProviderAndProviderId(user.getProvider(), user.getProviderId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            bookmarkService.addBookmark(userEntity.getId(), request.getLocation());
+            bookmarkService.addBookmark(user.getUserId(), request.getLocation());
 
             return ResponseEntity.ok("Bookmark added successfully");
         } catch (Exception e) {
@@ -40,27 +48,63 @@ public class BookmarkController {
     @DeleteMapping
     public ResponseEntity<?> removeBookmark(@AuthenticationPrincipal CustomOAuth2User user, @RequestBody BookmarkRequestDTO request) {
         try {
-            // providerId를 기반으로 userId 조회
-            User userEntity = userRepository.findByProviderAndProviderId(user.getProvider(), user.getProviderId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            bookmarkService.removeBookmark(userEntity.getId(), request.getLocation());
+            bookmarkService.removeBookmark(user.getUserId(), request.getLocation());
             return ResponseEntity.ok("즐겨찾기에서 삭제되었습니다.");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    // 즐찾 여러 개 추가 (이미 있는 도시는 무시) → 추가 후 전체 목록
+    @PostMapping("/batch")
+    public ResponseEntity<?> addBookmarks(@AuthenticationPrincipal CustomOAuth2User user, @RequestBody BookmarkBatchRequestDTO request) {
+        try {
+            List<String> locations = validLocations(request);
+            bookmarkService.addBookmarks(user.getUserId(), locations);
+
+            return ResponseEntity.ok(Map.of("bookmarks", bookmarkService.getUserBookmarks(user.getUserId())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 즐찾 여러 개 삭제 → 삭제된 수와 남은 목록
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> removeBookmarks(@AuthenticationPrincipal CustomOAuth2User user, @RequestBody BookmarkBatchRequestDTO request) {
+        try {
+            List<String> locations = validLocations(request);
+            int removed = bookmarkService.removeBookmarks(user.getUserId(), locations);
+
+            return ResponseEntity.ok(Map.of(
+                    "removed", removed,
+                    "bookmarks", bookmarkService.getUserBookmarks(user.getUserId())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private List<String> validLocations(BookmarkBatchRequestDTO request) {
+        if (request == null || request.getLocations() == null || request.getLocations().isEmpty()) {
+            throw new IllegalArgumentException("도시 목록을 입력하세요.");
+        }
+        if (request.getLocations().size() > batchMaxSize) {
+            throw new IllegalArgumentException("한 번에 최대 " + batchMaxSize + "개까지 처리할 수 있습니다.");
+        }
+        List<String> locations = request.getLocations().stream()
+                .filter(location -> location != null && !location.isBlank())
+                .toList();
+        if (locations.isEmpty()) {
+            throw new IllegalArgumentException("도시 목록을 입력하세요.");
+        }
+        return locations;
+    }
+
     // 즐찾 조회
     @GetMapping
     public ResponseEntity<?> getBookmarks(@AuthenticationPrincipal CustomOAuth2User user) {
         try {
-            // providerId를 기반으로 userId 조회
-            User userEntity = userRepository.findByProviderAndProviderId(user.getProvider(), user.getProviderId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            // 사용자의 북마크 목록 조회
-            List<String> bookmarks = bookmarkService.getUserBookmarks(userEntity.getId());
+            // 사용자의 북마크 목록 조회 (userId는 로그인 시 인증 정보에 저장됨)
+            List<String> bookmarks = bookmarkService.getUserBookmarks(user.getUserId());
 
             return ResponseEntity.ok(bookmarks);
         } catch (Exception e) {
@@ -68,4 +112,43 @@ public class BookmarkController {
         }
     }
 
+    // 즐찾 도시 날씨 한 번에 조회
+    @GetMapping("/weather")
+    public ResponseEntity<?> getBookmarksWeather(@AuthenticationPrincipal CustomOAuth2User user) {
+        try {
+            List<String> bookmarks = bookmarkService.getUserBookmarks(user.getUserId());
+
+            // 같은 격자 도시는 한 번만, 서로 다른 격자는 동시에 조회
+            WeatherBatchResult result = weatherService.getFormattedWeatherBatch(bookmarks);
+
+            return ResponseEntity.ok(Map.of(
+                    "bookmarks", bookmarks,
+                    "weather", result.weather(),
+                    "partial", result.isPartial(),
+                    "timedOut", result.timedOut(),
+                    "stale", result.stale()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 즐찾 도시 예보 구독 (SSE, 구독 시점의 즐찾 목록 기준 → 목록을 바꾸면 다시 연결)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookmarksWeather(@AuthenticationPrincipal CustomOAuth2User user) {
+        // 등록되지 않은 도시는 건너뜀
+        List<String> bookmarks = bookmarkService.getUserBookmarks(user.getUserId()).stream()
+                .filter(city -> weatherService.findGridCell(city) != null)
+                .toList();
+        if (bookmarks.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "즐겨찾기한 도시가 없습니다.");
+        }
+        try {
+            return forecastPushService.subscribe(bookmarks);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
 }
@@ -1,8 +1,8 @@
 package com.weather.weather.controller;
 
 import com.weather.weather.entity.User;
-import com.weather.weather.repository.UserRepository;
 import com.weather.weather.securiry.CustomOAuth2User;
+import com.weather.weather.service.UserProfileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +18,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserController {
 
-    private final UserRepository userRepository; // User 조회를 위한 Repository
+    private final UserProfileService userProfileService; // User 조회 (짧은 시간 캐시)
 
     @GetMapping("/me")
     public ResponseEntity<?> getUser(@AuthenticationPrincipal CustomOAuth2User user) {
@@ -26,8 +26,8 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        // providerId를 이용해 User 테이블에서 ID 조회
-        Optional<User> userEntity = userRepository.findByProviderAndProviderId(user.getProvider(), user.getProviderId());
+        // 로그인 시 저장된 userId로 조회
+        Optional<User> userEntity = userProfileService.getProfile(user.getUserId());
 
         if (userEntity.isPresent()) {
             return ResponseEntity.ok(userEntity.get());
@@ -35,4 +35,4 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
     }
-}
\ No newline at end of file
+}
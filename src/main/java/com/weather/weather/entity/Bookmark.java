@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_bookmark_user_id_location", columnNames = {"user_id", "location"}))
 @Data
 @NoArgsConstructor
 public class Bookmark {
@@ -0,0 +1,12 @@
+package com.weather.weather.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BookmarkBatchRequestDTO {
+    private List<String> locations;
+}
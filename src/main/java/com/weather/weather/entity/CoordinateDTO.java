@@ -0,0 +1,11 @@
+package com.weather.weather.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CoordinateDTO {
+    private double lat;
+    private double lon;
+}
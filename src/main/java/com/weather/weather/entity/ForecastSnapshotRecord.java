@@ -0,0 +1,33 @@
+package com.weather.weather.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// ✅ 재기동 시 캐시를 다시 채우기 위한 예보 스냅샷 (격자 + 발표 시각당 한 행)
+@Entity
+@Table(name = "forecast_snapshot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_forecast_snapshot_grid_base", columnNames = {"nx", "ny", "base_at"}),
+        indexes = @Index(name = "idx_forecast_snapshot_base_at", columnList = "base_at"))
+@Data
+@NoArgsConstructor
+public class ForecastSnapshotRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer nx;
+
+    @Column(nullable = false)
+    private Integer ny;
+
+    @Column(nullable = false)
+    private LocalDateTime baseAt;  // 발표 시각 (KST, base_date + base_time)
+
+    @Column(nullable = false, length = 2000)
+    private String payload;  // 항목별 값 (ForecastSnapshotCodec)
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_provider_provider_id", columnNames = {"provider", "provider_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,10 +2,12 @@ package com.weather.weather.repository;
 
 import com.weather.weather.entity.Bookmark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,18 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     // ✅ 특정 사용자가 특정 도시를 즐겨찾기했는지 확인
     Optional<Bookmark> findByUserIdAndLocation(Long userId, String location);
 
-    // ✅ 특정 사용자의 특정 도시 즐겨찾기 삭제
-    void deleteByUserIdAndLocation(Long userId, String location);
+    // ✅ 즐겨찾기 추가 (이미 있으면 무시, (user_id, location) 유니크 인덱스 기준) → 추가된 행 수
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO bookmark (user_id, location) VALUES (:userId, :location)", nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId, @Param("location") String location);
+
+    // ✅ 특정 사용자의 특정 도시 즐겨찾기 삭제 (엔티티를 읽지 않고 DELETE 한 번) → 삭제된 행 수
+    @Modifying
+    @Query("DELETE FROM Bookmark b WHERE b.userId = :userId AND b.location = :location")
+    int deleteByUserIdAndLocation(@Param("userId") Long userId, @Param("location") String location);
+
+    // ✅ 여러 도시 한 번에 삭제
+    @Modifying
+    @Query("DELETE FROM Bookmark b WHERE b.userId = :userId AND b.location IN :locations")
+    int deleteByUserIdAndLocationIn(@Param("userId") Long userId, @Param("locations") Collection<String> locations);
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.weather.weather.repository;
+
+import com.weather.weather.entity.ForecastSnapshotRecord;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ForecastSnapshotRepository extends JpaRepository<ForecastSnapshotRecord, Long> {
+
+    // ✅ 해당 발표 시각 이후의 스냅샷 (오래된 것부터, 같은 격자는 최신분이 나중에 덮어씀)
+    List<ForecastSnapshotRecord> findByBaseAtGreaterThanEqualOrderByBaseAt(LocalDateTime baseAt);
+
+    // ✅ 제공 기간이 지난 스냅샷 정리 → 삭제된 행 수
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ForecastSnapshotRecord s WHERE s.baseAt < :baseAt")
+    int deleteByBaseAtBefore(@Param("baseAt") LocalDateTime baseAt);
+}
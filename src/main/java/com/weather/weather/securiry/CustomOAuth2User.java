@@ -10,11 +10,13 @@ import java.util.Map;
 public class CustomOAuth2User implements OAuth2User {
 
     private final OAuth2User oauth2User;
+    private final Long userId; // User 테이블 ID (로그인 시 한 번 조회)
     private final String provider;
     private final String providerId;
 
-    public CustomOAuth2User(OAuth2User oauth2User, String provider, String providerId) {
+    public CustomOAuth2User(OAuth2User oauth2User, Long userId, String provider, String providerId) {
         this.oauth2User = oauth2User;
+        this.userId = userId;
         this.provider = provider;
         this.providerId = providerId;
     }
@@ -34,6 +36,10 @@ public class CustomOAuth2User implements OAuth2User {
         return providerId; // providerId를 식별자로 사용
     }
 
+    public Long getUserId() {
+        return userId;
+    }
+
     public String getProvider() {
         return provider;
     }
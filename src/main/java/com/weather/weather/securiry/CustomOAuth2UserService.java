@@ -2,7 +2,9 @@ package com.weather.weather.securiry;
 
 import com.weather.weather.entity.User;
 import com.weather.weather.repository.UserRepository;
+import com.weather.weather.service.UserProfileService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -16,6 +18,7 @@ import java.util.Map;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserProfileService userProfileService;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -27,17 +30,26 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         String profileImage = getProfileImage(oauth2User, provider);
 
         User user = userRepository.findByProviderAndProviderId(provider, providerId)
-                .orElseGet(() -> {
-                    User newUser = User.builder()
-                            .provider(provider)
-                            .providerId(providerId)
-                            .nickname(nickname)
-                            .profileImage(profileImage)
-                            .build();
-                    return userRepository.save(newUser);
-                });
+                .orElseGet(() -> createUser(provider, providerId, nickname, profileImage));
 
-        return new CustomOAuth2User(oauth2User, provider, providerId);
+        // ✅ 로그인 시 한 번 조회한 User ID를 인증 정보에 담아 요청마다 다시 조회하지 않음
+        userProfileService.evict(user.getId());
+        return new CustomOAuth2User(oauth2User, user.getId(), provider, providerId);
+    }
+
+    private User createUser(String provider, String providerId, String nickname, String profileImage) {
+        User newUser = User.builder()
+                .provider(provider)
+                .providerId(providerId)
+                .nickname(nickname)
+                .profileImage(profileImage)
+                .build();
+        try {
+            return userRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 계정의 첫 로그인이 동시에 들어와 (provider, provider_id) 유니크 제약에 걸린 경우
+            return userRepository.findByProviderAndProviderId(provider, providerId).orElseThrow(() -> e);
+        }
     }
 
     private String getProviderId(OAuth2User oauth2User, String provider) {
@@ -1,49 +1,129 @@
 package com.weather.weather.service;
 
+import com.weather.weather.WeatherMetrics;
+import com.weather.weather.cache.ExpiringLruCache;
 import com.weather.weather.entity.Bookmark;
 import com.weather.weather.repository.BookmarkRepository;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-@RequiredArgsConstructor
 public class BookmarkService {
 
+    private static final String INSERT_IGNORE_SQL = "INSERT IGNORE INTO bookmark (user_id, location) VALUES (?, ?)";
+
     private final BookmarkRepository bookmarkRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // JDBC 배치 한 번에 보낼 행 수 (MySQL은 rewriteBatchedStatements=true 일 때 한 문장으로 합쳐짐)
+    private final int jdbcBatchSize;
+
+    // ✅ 사용자별 즐겨찾기 목록 캐시 (수정 불가 리스트, 변경 트랜잭션 커밋 후 무효화)
+    private final ExpiringLruCache<Long, List<String>> bookmarkCache;
+    private final Duration cacheTtl;
+
+    // 무효화가 일어날 때마다 증가. 조회 도중 변경이 커밋됐으면 읽은 목록을 캐시에 넣지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BookmarkService(BookmarkRepository bookmarkRepository,
+                           JdbcTemplate jdbcTemplate,
+                           WeatherMetrics metrics,
+                           Clock clock,
+                           @Value("${weather.bookmarks.jdbc-batch-size:50}") int jdbcBatchSize,
+                           @Value("${weather.bookmarks.cache.max-size:10000}") int cacheMaxSize,
+                           @Value("${weather.bookmarks.cache.ttl-seconds:600}") long cacheTtlSeconds) {
+        this.bookmarkRepository = bookmarkRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.bookmarkCache = new ExpiringLruCache<>(cacheMaxSize, clock);
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        metrics.bindCache("weather.bookmarks.cache", bookmarkCache);
+    }
 
-    // ✅ 1️⃣ 사용자의 즐겨찾기 목록 가져오기
+    // ✅ 1️⃣ 사용자의 즐겨찾기 목록 가져오기 (캐시에 없을 때만 조회)
     public List<String> getUserBookmarks(Long userId) {
-        return bookmarkRepository.findByUserId(userId)
+        List<String> cached = bookmarkCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        List<String> bookmarks = bookmarkRepository.findByUserId(userId)
                 .stream()
                 .map(Bookmark::getLocation)
                 .toList();
+        if (invalidations.get() == generation) {
+            bookmarkCache.put(userId, bookmarks, cacheTtl);
+        }
+        return bookmarks;
     }
 
-    // ✅ 2️⃣ 즐겨찾기 추가
+    // ✅ 2️⃣ 즐겨찾기 추가 (확인 후 추가하지 않고 INSERT IGNORE 한 번 → 동시 추가도 중복 없음)
     @Transactional
     public void addBookmark(Long userId, String location) {
-        // 이미 즐겨찾기한 도시인지 확인
-        if (bookmarkRepository.findByUserIdAndLocation(userId, location).isPresent()) {
+        if (bookmarkRepository.insertIgnore(userId, location) == 0) {
             throw new RuntimeException("이미 즐겨찾기에 추가된 도시입니다.");
         }
-
-        Bookmark bookmark = new Bookmark();
-        bookmark.setUserId(userId);
-        bookmark.setLocation(location);
-        bookmarkRepository.save(bookmark);
+        invalidateAfterCommit(userId);
     }
 
-    // ✅ 3️⃣ 즐겨찾기 삭제
+    // ✅ 3️⃣ 즐겨찾기 삭제 (DELETE 한 번, 지워진 행이 없으면 없는 즐겨찾기)
     @Transactional
     public void removeBookmark(Long userId, String location) {
-        // ✅ 존재하는 즐겨찾기인지 확인
-        if (!bookmarkRepository.findByUserIdAndLocation(userId, location).isPresent()) {
+        if (bookmarkRepository.deleteByUserIdAndLocation(userId, location) == 0) {
             throw new RuntimeException("해당 도시가 즐겨찾기에 없습니다.");
         }
-        bookmarkRepository.deleteByUserIdAndLocation(userId, location);
+        invalidateAfterCommit(userId);
+    }
+
+    // ✅ 4️⃣ 여러 도시 한 번에 추가 (한 트랜잭션, JDBC 배치, 이미 있는 도시는 무시)
+    @Transactional
+    public void addBookmarks(Long userId, Collection<String> locations) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(locations));
+        jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, distinct, jdbcBatchSize, (statement, location) -> {
+            statement.setLong(1, userId);
+            statement.setString(2, location);
+        });
+        invalidateAfterCommit(userId);
+    }
+
+    // ✅ 5️⃣ 여러 도시 한 번에 삭제 (DELETE ... IN 한 번) → 삭제된 수
+    @Transactional
+    public int removeBookmarks(Long userId, Collection<String> locations) {
+        int removed = bookmarkRepository.deleteByUserIdAndLocationIn(userId, new LinkedHashSet<>(locations));
+        invalidateAfterCommit(userId);
+        return removed;
+    }
+
+    // 커밋 전에 지우면 다른 요청이 아직 커밋되지 않은 이전 목록을 다시 캐시할 수 있으므로 커밋 후에 지움
+    private void invalidateAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId);
+            }
+        });
+    }
+
+    private void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        bookmarkCache.invalidate(userId);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,485 @@
+package com.weather.weather.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weather.ForecastSnapshot;
+import com.weather.weather.GridCell;
+import com.weather.weather.WeatherMetrics;
+import com.weather.weather.WeatherService;
+import com.weather.weather.config.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 구독한 도시의 새 예보를 SSE로 보내는 서비스 (/api/weather/stream, /api/bookmarks/stream).
+ * 클라이언트가 /api/weather 를 주기적으로 다시 부르지 않아도 되도록, 기상청에서 격자의 새 발표분을 받았을 때만 보낸다.
+ * 이벤트는 격자마다 한 번만 직렬화해 그 격자의 모든 구독자에게 같은 내용을 보낸다.
+ *
+ * <pre>
+ * event: subscribed   data: {"cities":{"서울특별시 종로구":"60-127",...}}
+ * event: forecast     data: {"grid":"60-127","baseDate":"20261018","baseTime":"1330","weather":{...}}
+ * : heartbeat
+ * </pre>
+ */
+@Slf4j
+@Service
+public class ForecastPushService {
+
+    // 보낼 것이 없을 때 연결이 살아 있는지 확인하고 프록시가 끊지 않도록 보내는 주석 줄
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final WeatherService weatherService;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int maxConnections;
+    private final int maxCities;
+    private final long timeoutMs;
+    private final long heartbeatIntervalMs;
+    private final long heartbeatIntervalNanos;
+    private final long slowConsumerTimeoutNanos;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<GridCell, Set<Subscriber>> subscribersByCell = new ConcurrentHashMap<>();
+
+    // ✅ 격자별 마지막으로 만든 이벤트 (새 발표분인지 판단 + 새 구독자 첫 이벤트로 재사용)
+    private final Map<GridCell, CellEvent> latestEvents = new ConcurrentHashMap<>();
+
+    // ✅ 구독자별 보내기 작업 (구독자당 최대 하나라 대기 작업 수는 연결 수를 넘지 않음)
+    private final ExecutorService sendExecutor;
+
+    // ✅ heartbeat, 느린 구독자 정리 전용
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    private final Counter sentCounter;
+    private final Counter coalescedCounter;
+    private final Counter slowDisconnectCounter;
+
+    public ForecastPushService(WeatherService weatherService,
+                               ObjectMapper objectMapper,
+                               WeatherMetrics metrics,
+                               @Value("${weather.push.enabled:true}") boolean enabled,
+                               @Value("${weather.push.max-connections:10000}") int maxConnections,
+                               @Value("${weather.push.max-cities:100}") int maxCities,
+                               @Value("${weather.push.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${weather.push.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+                               @Value("${weather.push.slow-consumer-timeout-ms:30000}") long slowConsumerTimeoutMs,
+                               @Value("${weather.push.send-threads:8}") int sendThreads,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.weatherService = weatherService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxConnections = maxConnections;
+        this.maxCities = maxCities;
+        this.timeoutMs = timeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+        this.slowConsumerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(slowConsumerTimeoutMs);
+
+        if (virtualThreads) {
+            this.sendExecutor = VirtualThreads.newThreadPerTaskExecutor("weather-push-");
+        } else {
+            // 느린 구독자에게 쓰는 동안(최대 서버 쓰기 타임아웃) 스레드가 막히므로 전용 풀 사용
+            AtomicInteger threadCount = new AtomicInteger();
+            this.sendExecutor = Executors.newFixedThreadPool(sendThreads, runnable -> {
+                Thread thread = new Thread(runnable, "weather-push-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "weather-push-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sentCounter = metrics.counter("weather.push.sent", "구독자에게 보낸 예보 이벤트 수");
+        this.coalescedCounter = metrics.counter("weather.push.coalesced", "보내기 전에 같은 격자의 새 발표분으로 대체된 이벤트 수 (느린 구독자)");
+        this.slowDisconnectCounter = metrics.counter("weather.push.slow_disconnects", "보내기가 너무 오래 막혀 구독에서 뺀 연결 수");
+        metrics.gauge("weather.push.connections", "SSE 구독 연결 수", subscribers::size);
+        metrics.gauge("weather.push.cells", "구독자가 있는 격자 수", subscribersByCell::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            weatherService.addSnapshotListener(this::onSnapshot);
+            heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 도시 목록 구독. 첫 이벤트로 도시별 격자를 보내고, 캐시에 있는 격자 예보를 바로 이어서 보낸다.
+     *
+     * @throws IllegalArgumentException 도시 목록이 비었거나, 너무 많거나, 등록되지 않은 도시가 있는 경우
+     * @throws IllegalStateException    구독 연결 수가 최대치인 경우
+     */
+    public SseEmitter subscribe(Collection<String> cities) {
+        if (!enabled) {
+            throw new IllegalStateException("예보 푸시가 꺼져 있습니다.");
+        }
+        if (cities == null || cities.isEmpty()) {
+            throw new IllegalArgumentException("도시명을 입력하세요.");
+        }
+        if (cities.size() > maxCities) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxCities + "개 도시까지 구독할 수 있습니다.");
+        }
+        Map<String, String> gridByCity = new LinkedHashMap<>();
+        Set<GridCell> cells = new LinkedHashSet<>();
+        for (String city : cities) {
+            GridCell cell = weatherService.findGridCell(city);
+            if (cell == null) {
+                throw new IllegalArgumentException("등록되지 않은 도시입니다: " + city);
+            }
+            gridByCity.put(city, gridId(cell));
+            cells.add(cell);
+        }
+        if (subscribers.size() >= maxConnections) {
+            throw new IllegalStateException("구독 연결 수가 최대치입니다. 잠시 후 다시 시도하세요.");
+        }
+
+        SseEmitter emitter = newEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, cells);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(emitter::complete); // 클라이언트(EventSource)가 다시 연결
+        emitter.onError(error -> unregister(subscriber));
+
+        // 응답이 시작되기 전 보낸 이벤트는 emitter가 모아 두었다가 순서대로 씀
+        try {
+            emitter.send(SseEmitter.event().name("subscribed").data(toJson(Map.of("cities", gridByCity))));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        register(subscriber);
+        for (GridCell cell : cells) {
+            CellEvent event = currentEvent(cell);
+            if (event != null) {
+                subscriber.offer(cell, event);
+            }
+        }
+        return emitter;
+    }
+
+    // 테스트에서 느린 연결을 흉내 낼 수 있도록 분리
+    protected SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // ✅ 기상청에서 새로 받은 예보 (호출 스레드에서 실행되므로 직렬화 한 번 + 구독자 대기열에 넣기만)
+    private void onSnapshot(ForecastSnapshot snapshot) {
+        GridCell cell = new GridCell(snapshot.nx(), snapshot.ny());
+        Set<Subscriber> cellSubscribers = subscribersByCell.get(cell);
+        if (cellSubscribers == null || cellSubscribers.isEmpty()) {
+            return;
+        }
+        CellEvent event = publish(cell, snapshot);
+        if (event == null) {
+            return;
+        }
+        for (Subscriber subscriber : cellSubscribers) {
+            subscriber.offer(cell, event);
+        }
+    }
+
+    // 새 구독자의 첫 예보: 이미 만든 이벤트가 있으면 그대로, 캐시에 더 최신 발표분이 있으면 새로 만듦
+    private CellEvent currentEvent(GridCell cell) {
+        ForecastSnapshot snapshot = weatherService.peekWeather(cell);
+        CellEvent latest = latestEvents.get(cell);
+        if (snapshot == null || (latest != null && latest.baseOrder() >= baseOrder(snapshot))) {
+            return latest;
+        }
+        CellEvent published = publish(cell, snapshot);
+        return published != null ? published : latestEvents.get(cell);
+    }
+
+    // ✅ 이전 이벤트보다 새 발표분일 때만 직렬화해서 기록 (같은 발표분 재조회, NO_DATA로 받은 이전 발표분은 null)
+    private CellEvent publish(GridCell cell, ForecastSnapshot snapshot) {
+        long baseOrder = baseOrder(snapshot);
+        CellEvent latest = latestEvents.get(cell);
+        if (latest != null && latest.baseOrder() >= baseOrder) {
+            return null;
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("grid", gridId(cell));
+        data.put("baseDate", Integer.toString(snapshot.baseDate()));
+        data.put("baseTime", String.format("%04d", snapshot.baseTime()));
+        data.put("weather", weatherService.formatWeatherData(snapshot));
+        CellEvent event = new CellEvent(baseOrder, SseEmitter.event().name("forecast").data(toJson(data)).build());
+
+        CellEvent merged = latestEvents.merge(cell, event,
+                (previous, next) -> previous.baseOrder() >= next.baseOrder() ? previous : next);
+        return merged == event ? event : null;
+    }
+
+    /**
+     * ✅ 주기적으로 조용한 연결에 heartbeat를 보내고(끊긴 연결 정리), 보내기가 막힌 구독자는 구독에서 뺀다.
+     * 막힌 쓰기와 complete()는 같은 잠금을 쓰므로 여기서 닫지 않는다. 쓰기가 끝나면(또는 서버의 쓰기 타임아웃) 보내기 작업이 연결을 닫는다.
+     */
+    void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            try {
+                long sendStartedAt = subscriber.sendStartedAt;
+                if (sendStartedAt != 0 && now - sendStartedAt > slowConsumerTimeoutNanos) {
+                    slowDisconnectCounter.increment();
+                    log.debug("예보 푸시 구독자가 {}초 넘게 받지 않아 구독 해제", TimeUnit.NANOSECONDS.toSeconds(now - sendStartedAt));
+                    subscriber.abandon();
+                } else if (now - subscriber.lastSentAt >= heartbeatIntervalNanos) {
+                    subscriber.offerHeartbeat();
+                }
+            } catch (RuntimeException e) {
+                // 예외가 나가면 이후 heartbeat가 모두 취소되므로 구독자 하나의 문제로 끝냄
+                log.warn("예보 푸시 heartbeat 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        sendExecutor.shutdownNow();
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        for (GridCell cell : subscriber.cells) {
+            subscribersByCell.compute(cell, (key, cellSubscribers) -> {
+                Set<Subscriber> set = cellSubscribers != null ? cellSubscribers : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (GridCell cell : subscriber.cells) {
+            subscribersByCell.computeIfPresent(cell, (key, cellSubscribers) -> {
+                cellSubscribers.remove(subscriber);
+                return cellSubscribers.isEmpty() ? null : cellSubscribers;
+            });
+        }
+    }
+
+    private String toJson(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("예보 이벤트를 만들 수 없습니다.", e);
+        }
+    }
+
+    private static String gridId(GridCell cell) {
+        return cell.nx() + "-" + cell.ny();
+    }
+
+    private static long baseOrder(ForecastSnapshot snapshot) {
+        return snapshot.baseDate() * 10_000L + snapshot.baseTime();
+    }
+
+    // 직렬화된 이벤트 (모든 구독자가 같은 객체를 보냄)
+    private record CellEvent(long baseOrder, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+    }
+
+    /**
+     * SSE 연결 하나. 보낼 이벤트는 격자당 하나만 두고 새 발표분이 오면 아직 안 보낸 이전 것을 대체하므로,
+     * 느린 구독자라도 대기열이 구독한 격자 수를 넘지 않는다. 보내기는 한 번에 한 작업만 한다.
+     * 대기열 잠금은 가상 스레드 보내기 작업과 함께 쓰므로 ReentrantLock.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<GridCell> cells;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<GridCell, CellEvent> pending = new LinkedHashMap<>(); // lock으로 보호
+        private boolean heartbeatPending;
+        private boolean draining;
+
+        // 보내기 작업 안에서만 사용 (draining으로 한 번에 하나)
+        private final Map<GridCell, Long> sentBase = new HashMap<>();
+
+        private volatile boolean closed;
+        private volatile long sendStartedAt;  // 진행 중인 보내기 시작 시각 (없으면 0)
+        private volatile long lastSentAt = System.nanoTime();
+
+        private Subscriber(SseEmitter emitter, Set<GridCell> cells) {
+            this.emitter = emitter;
+            this.cells = cells;
+        }
+
+        void offer(GridCell cell, CellEvent event) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                CellEvent previous = pending.get(cell);
+                if (previous != null) {
+                    if (previous.baseOrder() >= event.baseOrder()) {
+                        return;
+                    }
+                    coalescedCounter.increment();
+                }
+                pending.put(cell, event);
+                if (!startDrain()) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            submitDrain();
+        }
+
+        void offerHeartbeat() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                heartbeatPending = true;
+                if (!startDrain()) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            submitDrain();
+        }
+
+        // 이미 보내는 중이면 그 작업이 이어서 보냄
+        private boolean startDrain() {
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        private void submitDrain() {
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                GridCell cell = null;
+                CellEvent event = null;
+                lock.lock();
+                try {
+                    if (closed || (pending.isEmpty() && !heartbeatPending)) {
+                        draining = false;
+                        return;
+                    }
+                    if (!pending.isEmpty()) {
+                        Iterator<Map.Entry<GridCell, CellEvent>> iterator = pending.entrySet().iterator();
+                        Map.Entry<GridCell, CellEvent> next = iterator.next();
+                        iterator.remove();
+                        cell = next.getKey();
+                        event = next.getValue();
+                    } else {
+                        heartbeatPending = false;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (event != null && sentBase.getOrDefault(cell, 0L) >= event.baseOrder()) {
+                    continue;
+                }
+                try {
+                    sendStartedAt = System.nanoTime();
+                    emitter.send(event != null ? event.data() : HEARTBEAT);
+                    lastSentAt = System.nanoTime();
+                } catch (IOException | IllegalStateException e) {
+                    // 연결이 끊김 (IOException이면 컨테이너가 onError로 정리)
+                    abandon();
+                    lock.lock();
+                    try {
+                        draining = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                } finally {
+                    sendStartedAt = 0;
+                }
+                if (event != null) {
+                    sentBase.put(cell, event.baseOrder());
+                    sentCounter.increment();
+                }
+                if (closed) {
+                    // 막혀 있던 사이 구독에서 빠짐 (느린 구독자) → 연결을 닫아야 EventSource가 다시 연결함
+                    lock.lock();
+                    try {
+                        draining = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    complete();
+                    return;
+                }
+            }
+        }
+
+        // 더 보내지 않음 (연결 정리는 컨테이너 또는 close())
+        void abandon() {
+            unregister(this);
+            lock.lock();
+            try {
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            abandon();
+            complete();
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // 이미 끝난 연결
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.weather.weather.service;
+
+import com.weather.weather.BaseTimeResolver;
+import com.weather.weather.ForecastSnapshot;
+import com.weather.weather.ForecastSnapshotCodec;
+import com.weather.weather.WeatherMetrics;
+import com.weather.weather.WeatherService;
+import com.weather.weather.cache.ForecastKey;
+import com.weather.weather.entity.ForecastSnapshotRecord;
+import com.weather.weather.repository.ForecastSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기상청에서 받은 예보를 DB(forecast_snapshot)에 모아 두었다가 기동 시 캐시로 되살리는 저장소.
+ * 재배포 직후의 요청이 모두 기상청으로 몰리지 않게 하는 것이 목적이다.
+ * 저장은 요청 경로를 막지 않도록 모아서 주기적으로 쓰고(write-behind), 지난 발표분은 정리한다.
+ * 쓰기는 전용 스레드에서 돌아 DB가 느려도 Spring 기본 스케줄러 스레드(하나뿐)의 다른 @Scheduled 작업을 막지 않는다.
+ */
+@Slf4j
+@Service
+public class ForecastSnapshotStore {
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO forecast_snapshot (nx, ny, base_at, payload) VALUES (?, ?, ?, ?)";
+
+    private final WeatherService weatherService;
+    private final ForecastSnapshotRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BaseTimeResolver baseTimeResolver;
+
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int maxPending;
+    private final int jdbcBatchSize;
+    private final Duration retention;
+
+    // ✅ 아직 쓰지 않은 스냅샷 (같은 격자 + 발표 시각은 하나로 합침)
+    private final Map<ForecastKey, ForecastSnapshot> pending = new ConcurrentHashMap<>();
+
+    // ✅ 배치 쓰기 전용
+    private final ScheduledExecutorService flushScheduler;
+
+    private final Timer flushTimer;
+    private final Counter droppedCounter;
+
+    public ForecastSnapshotStore(WeatherService weatherService,
+                                 ForecastSnapshotRepository repository,
+                                 JdbcTemplate jdbcTemplate,
+                                 BaseTimeResolver baseTimeResolver,
+                                 WeatherMetrics metrics,
+                                 @Value("${weather.snapshot-store.enabled:true}") boolean enabled,
+                                 @Value("${weather.snapshot-store.flush-interval-ms:5000}") long flushIntervalMs,
+                                 @Value("${weather.snapshot-store.max-pending:5000}") int maxPending,
+                                 @Value("${weather.snapshot-store.jdbc-batch-size:200}") int jdbcBatchSize,
+                                 @Value("${weather.snapshot-store.retention-hours:3}") long retentionHours) {
+        this.weatherService = weatherService;
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.baseTimeResolver = baseTimeResolver;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPending = maxPending;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.retention = Duration.ofHours(retentionHours);
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "weather-snapshot-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.flushTimer = metrics.timer("weather.snapshot_store.flush", "저장 대기 중인 예보 스냅샷을 DB에 쓰는 데 걸린 시간");
+        this.droppedCounter = metrics.counter("weather.snapshot_store.dropped", "대기열이 가득 차거나 쓰기에 실패해 저장하지 못한 스냅샷 수");
+        metrics.gauge("weather.snapshot_store.pending", "DB 저장 대기 중인 예보 스냅샷 수", pending::size);
+    }
+
+    // ✅ 기동 시 (선조회보다 먼저) 아직 쓸 수 있는 발표분을 캐시에 올리고, 이후 새 예보를 받아 저장
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        weatherService.addSnapshotListener(this::enqueue);
+        flushScheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        // 지금 시도할 발표 시각 후보 중 가장 오래된 것부터
+        List<BaseTimeResolver.Slot> candidates = baseTimeResolver.candidates();
+        LocalDateTime oldest = candidates.get(candidates.size() - 1).time();
+        try {
+            List<ForecastSnapshotRecord> records = repository.findByBaseAtGreaterThanEqualOrderByBaseAt(oldest);
+            int restored = 0;
+            for (ForecastSnapshotRecord record : records) {
+                try {
+                    weatherService.restoreSnapshot(decode(record));
+                    restored++;
+                } catch (RuntimeException e) {
+                    log.warn("저장된 예보를 읽지 못해 건너뜀 (id={}): {}", record.getId(), e.getMessage());
+                }
+            }
+            log.info("저장된 예보 {}건으로 캐시 복원 (발표 시각 {} 이후)", restored, oldest);
+        } catch (DataAccessException e) {
+            // 저장소를 못 써도 서비스는 기상청 조회로 동작
+            log.warn("🚨 예보 저장소를 읽지 못해 빈 캐시로 시작: {}", e.getMessage());
+        }
+    }
+
+    // 요청 스레드에서 호출되므로 대기열에 넣기만 함
+    private void enqueue(ForecastSnapshot snapshot) {
+        if (pending.size() >= maxPending) {
+            droppedCounter.increment();
+            return;
+        }
+        BaseTimeResolver.Slot slot = BaseTimeResolver.Slot.of(snapshot.baseDate(), snapshot.baseTime());
+        pending.put(new ForecastKey(snapshot.nx(), snapshot.ny(), slot.baseDate(), slot.baseTime()), snapshot);
+    }
+
+    // ✅ 모아 둔 스냅샷을 배치 INSERT (이미 있는 격자 + 발표 시각은 (nx, ny, base_at) 유니크 인덱스로 무시)
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ForecastSnapshot> batch = new ArrayList<>(pending.size());
+        for (ForecastKey key : pending.keySet()) {
+            ForecastSnapshot snapshot = pending.remove(key);
+            if (snapshot != null) {
+                batch.add(snapshot);
+            }
+        }
+
+        long started = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, batch, jdbcBatchSize, (statement, snapshot) -> {
+                BaseTimeResolver.Slot slot = BaseTimeResolver.Slot.of(snapshot.baseDate(), snapshot.baseTime());
+                statement.setInt(1, snapshot.nx());
+                statement.setInt(2, snapshot.ny());
+                statement.setTimestamp(3, Timestamp.valueOf(slot.time()));
+                statement.setString(4, ForecastSnapshotCodec.encode(snapshot));
+            });
+        } catch (RuntimeException e) {
+            // 예외가 나가면 이후 주기가 멈추므로 모두 잡음. 캐시를 다시 채우는 용도라 재시도하지 않음 (다음 조회분부터 다시 저장)
+            droppedCounter.increment(batch.size());
+            log.warn("🚨 예보 스냅샷 {}건 저장 실패: {}", batch.size(), e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // ✅ 보관 기간이 지난 발표분 정리 (기본: 매시 50분, 선조회 직후)
+    @Scheduled(cron = "${weather.snapshot-store.compaction-cron:0 50 * * * *}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime before = baseTimeResolver.latestExpected().time().minus(retention);
+        try {
+            int deleted = repository.deleteByBaseAtBefore(before);
+            log.debug("지난 예보 스냅샷 {}건 정리 (발표 시각 {} 이전)", deleted, before);
+        } catch (DataAccessException e) {
+            log.warn("🚨 예보 스냅샷 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    // ✅ 종료 전(재배포) 진행 중인 쓰기를 기다린 뒤 남은 스냅샷 쓰기
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushScheduler.shutdown();
+        if (!flushScheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("예보 스냅샷 쓰기가 10초 안에 끝나지 않아 남은 스냅샷만 이어서 씀");
+        }
+        flush();
+    }
+
+    private static ForecastSnapshot decode(ForecastSnapshotRecord record) {
+        BaseTimeResolver.Slot slot = new BaseTimeResolver.Slot(record.getBaseAt());
+        return ForecastSnapshotCodec.decode(record.getNx(), record.getNy(),
+                Integer.parseInt(slot.baseDate()), Integer.parseInt(slot.baseTime()), record.getPayload());
+    }
+}
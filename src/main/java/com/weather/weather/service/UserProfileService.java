@@ -0,0 +1,53 @@
+package com.weather.weather.service;
+
+import com.weather.weather.cache.ExpiringLruCache;
+import com.weather.weather.entity.User;
+import com.weather.weather.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * /api/user/me 프로필 조회. 새로고침마다 DB를 조회하지 않도록 짧은 시간 캐시한다.
+ */
+@Service
+public class UserProfileService {
+
+    private final UserRepository userRepository;
+    private final ExpiringLruCache<Long, User> profileCache;
+    private final Duration ttl;
+
+    public UserProfileService(UserRepository userRepository,
+                              Clock clock,
+                              @Value("${weather.user.profile-cache.max-size:1000}") int maxSize,
+                              @Value("${weather.user.profile-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.profileCache = new ExpiringLruCache<>(maxSize, clock);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public Optional<User> getProfile(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        User cached = profileCache.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<User> user = userRepository.findById(userId);
+        user.ifPresent(found -> profileCache.put(userId, found, ttl));
+        return user;
+    }
+
+    // ✅ 로그인 등으로 프로필이 바뀌었을 수 있으면 캐시에서 제거
+    public void evict(Long userId) {
+        if (userId != null) {
+            profileCache.invalidate(userId);
+        }
+    }
+}
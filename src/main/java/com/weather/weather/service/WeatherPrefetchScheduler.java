@@ -0,0 +1,217 @@
+package com.weather.weather.service;
+
+import com.weather.weather.GridCell;
+import com.weather.weather.WeatherMetrics;
+import com.weather.weather.WeatherService;
+import com.weather.weather.config.VirtualThreads;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기상청 발표 직후 모든 격자를 미리 조회해 캐시를 채워두는 스케줄러.
+ * 사용자 요청은 항상 캐시에서 응답되도록 하는 것이 목적이다.
+ * 한 주기는 전용 스레드에서 돌고(Spring 기본 스케줄러 스레드는 하나뿐이라 다른 @Scheduled 작업을 막지 않도록),
+ * 격자별 지터는 작업 스레드에서 잠드는 대신 제출 지연으로 걸어 동시 호출 수와 마감 시간을 잡아먹지 않는다.
+ */
+@Slf4j
+@Service
+public class WeatherPrefetchScheduler {
+
+    private final WeatherService weatherService;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int concurrency;
+    private final long jitterMs;
+    private final Duration deadline;
+
+    private final ScheduledThreadPoolExecutor executor; // 스레드 수 = 동시 호출 수
+    private final ExecutorService cycleExecutor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile PrefetchStatus lastStatus;
+    private volatile Instant lastSuccessAt;
+
+    private final Timer cycleTimer;
+
+    public WeatherPrefetchScheduler(WeatherService weatherService,
+                                    WeatherMetrics metrics,
+                                    Clock clock,
+                                    @Value("${weather.prefetch.enabled:true}") boolean enabled,
+                                    @Value("${weather.prefetch.concurrency:4}") int concurrency,
+                                    @Value("${weather.prefetch.jitter-ms:2000}") long jitterMs,
+                                    @Value("${weather.prefetch.deadline-ms:120000}") long deadlineMs,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.weatherService = weatherService;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.concurrency = concurrency;
+        this.jitterMs = jitterMs;
+        this.deadline = Duration.ofMillis(deadlineMs);
+
+        this.cycleTimer = metrics.timer("weather.prefetch.duration", "격자 선조회 한 주기 소요 시간");
+        metrics.gauge("weather.prefetch.staleness", "마지막으로 성공한 선조회 이후 경과 시간(초)", () -> {
+            Instant success = lastSuccessAt;
+            return success != null ? Duration.between(success, clock.instant()).toSeconds() : Double.NaN;
+        });
+        metrics.gauge("weather.prefetch.failed", "마지막 선조회 주기의 실패 + 시간 초과 격자 수", () -> {
+            PrefetchStatus last = lastStatus;
+            return last != null ? last.failed() + last.timedOut() : 0;
+        });
+
+        // 가상 스레드 모드에서도 풀 크기(concurrency)가 곧 동시 호출 상한
+        ThreadFactory factory = virtualThreads ? VirtualThreads.factory("weather-prefetch-") : daemonFactory("weather-prefetch-");
+        this.executor = new ScheduledThreadPoolExecutor(concurrency, factory);
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.cycleExecutor = Executors.newSingleThreadExecutor(daemonFactory("weather-prefetch-cycle-"));
+    }
+
+    private static ThreadFactory daemonFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ✅ 서버 기동 직후 한 번 채워두기
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetchOnStartup() {
+        if (enabled) {
+            startCycle();
+        }
+    }
+
+    // ✅ 기상청 발표분 제공 직후 실행 (기본: 매시 30분 발표 + 제공 지연 15분 → 매시 46분)
+    @Scheduled(cron = "${weather.prefetch.cron:0 46 * * * *}", zone = "Asia/Seoul")
+    public void scheduledPrefetch() {
+        if (enabled) {
+            startCycle();
+        }
+    }
+
+    // ✅ 주기 전용 스레드로 넘기고 바로 반환 (이미 돌고 있으면 건너뜀)
+    private void startCycle() {
+        if (running.get()) {
+            log.warn("⚠️ 이전 격자 선조회가 아직 진행 중이라 이번 주기를 건너뜀");
+            return;
+        }
+        cycleExecutor.execute(this::prefetchAll);
+    }
+
+    public void prefetchAll() {
+        // 이전 주기가 아직 끝나지 않았으면 겹쳐서 실행하지 않음
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        Instant startedAt = clock.instant();
+        List<GridCell> cells = new ArrayList<>(weatherService.getDistinctGridCells());
+        int succeeded = 0;
+        int failed = 0;
+        int timedOut = 0;
+
+        try {
+            // 발표 직후 기상청으로 요청이 한꺼번에 몰리지 않도록 제출 시점을 분산
+            List<Future<Boolean>> futures = new ArrayList<>(cells.size());
+            for (GridCell cell : cells) {
+                long delayMs = jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs) : 0;
+                futures.add(executor.schedule(() -> weatherService.refreshGrid(cell), delayMs, TimeUnit.MILLISECONDS));
+            }
+
+            long deadlineNanos = System.nanoTime() + deadline.toNanos();
+            for (Future<Boolean> future : futures) {
+                long remaining = deadlineNanos - System.nanoTime();
+                try {
+                    if (remaining > 0 && future.get(remaining, TimeUnit.NANOSECONDS)) {
+                        succeeded++;
+                    } else if (remaining > 0) {
+                        failed++;
+                    } else {
+                        future.cancel(true);
+                        timedOut++;
+                    }
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    timedOut++;
+                } catch (ExecutionException e) {
+                    failed++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    break;
+                }
+            }
+        } finally {
+            Instant finishedAt = clock.instant();
+            if (failed == 0 && timedOut == 0) {
+                lastSuccessAt = finishedAt;
+            }
+            lastStatus = new PrefetchStatus(startedAt, finishedAt, cells.size(), succeeded, failed, timedOut);
+            running.set(false);
+            cycleTimer.record(Duration.between(startedAt, finishedAt));
+            log.info("🔄 격자 선조회 완료: {}/{} (실패 {}, 시간 초과 {}, {}ms)", succeeded, cells.size(),
+                    failed, timedOut, Duration.between(startedAt, finishedAt).toMillis());
+        }
+    }
+
+    // ✅ 마지막 주기 상태 (소요 시간, 실패 수, 경과 시간)
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("running", running.get());
+        status.put("concurrency", concurrency);
+
+        PrefetchStatus last = lastStatus;
+        if (last != null) {
+            status.put("lastStartedAt", last.startedAt().toString());
+            status.put("lastFinishedAt", last.finishedAt().toString());
+            status.put("lastDurationMs", Duration.between(last.startedAt(), last.finishedAt()).toMillis());
+            status.put("cells", last.cells());
+            status.put("succeeded", last.succeeded());
+            status.put("failed", last.failed());
+            status.put("timedOut", last.timedOut());
+            status.put("secondsSinceLastCycle", Duration.between(last.finishedAt(), clock.instant()).toSeconds());
+        }
+
+        Instant success = lastSuccessAt;
+        status.put("lastSuccessAt", success != null ? success.toString() : null);
+        status.put("stalenessSeconds", success != null ? Duration.between(success, clock.instant()).toSeconds() : null);
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cycleExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private record PrefetchStatus(Instant startedAt, Instant finishedAt, int cells,
+                                  int succeeded, int failed, int timedOut) {
+    }
+}
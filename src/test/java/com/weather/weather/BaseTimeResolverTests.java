@@ -0,0 +1,53 @@
+package com.weather.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseTimeResolverTests {
+
+	private static BaseTimeResolver resolverAt(int hour, int minute) {
+		ZonedDateTime now = ZonedDateTime.of(2026, 10, 18, hour, minute, 0, 0, BaseTimeResolver.KST);
+		return new BaseTimeResolver(Clock.fixed(now.toInstant(), BaseTimeResolver.KST), 15, 3, 60);
+	}
+
+	@Test
+	void usesPreviousHourUntilReleaseIsAvailable() {
+		List<BaseTimeResolver.Slot> candidates = resolverAt(14, 44).candidates();
+
+		assertThat(candidates).hasSize(3);
+		assertThat(candidates.get(0).baseDate()).isEqualTo("20261018");
+		assertThat(candidates.get(0).baseTime()).isEqualTo("1330");
+		assertThat(resolverAt(14, 45).candidates().get(0).baseTime()).isEqualTo("1430");
+	}
+
+	@Test
+	void rollsBackToPreviousDayAfterMidnight() {
+		BaseTimeResolver.Slot latest = resolverAt(0, 10).candidates().get(0);
+
+		assertThat(latest.baseDate()).isEqualTo("20261017");
+		assertThat(latest.baseTime()).isEqualTo("2330");
+	}
+
+	@Test
+	void parsesNumericBaseTimeWithLeadingZeros() {
+		BaseTimeResolver.Slot slot = BaseTimeResolver.Slot.of(20261018, 30);
+
+		assertThat(slot).isEqualTo(BaseTimeResolver.Slot.of("20261018", "0030"));
+		assertThat(slot.baseTime()).isEqualTo("0030");
+	}
+
+	@Test
+	void skipsSlotRecentlyReportedAsNoData() {
+		BaseTimeResolver resolver = resolverAt(14, 50);
+		BaseTimeResolver.Slot latest = resolver.candidates().get(0);
+
+		resolver.markMissing(latest);
+
+		assertThat(resolver.candidates().get(0)).isEqualTo(latest.previous());
+	}
+}
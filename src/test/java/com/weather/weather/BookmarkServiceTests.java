@@ -0,0 +1,138 @@
+package com.weather.weather;
+
+import com.weather.weather.entity.Bookmark;
+import com.weather.weather.repository.BookmarkRepository;
+import com.weather.weather.service.BookmarkService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookmarkServiceTests {
+
+	private static final Long USER_ID = 1L;
+
+	private final BookmarkRepository repository = mock(BookmarkRepository.class);
+	private final BookmarkService service = new BookmarkService(repository, mock(JdbcTemplate.class),
+			new WeatherMetrics(new SimpleMeterRegistry()), Clock.systemUTC(), 50, 100, 600);
+
+	@BeforeEach
+	void setUp() {
+		when(repository.findByUserId(USER_ID)).thenReturn(List.of(bookmark("서울특별시 종로구")));
+		when(repository.insertIgnore(USER_ID, "부산광역시 중구")).thenReturn(1);
+		when(repository.deleteByUserIdAndLocation(USER_ID, "서울특별시 종로구")).thenReturn(1);
+	}
+
+	@AfterEach
+	void clearTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void addingAlreadyBookmarkedCityFailsWithoutInvalidating() {
+		// INSERT IGNORE는 드라이버 설정과 관계없이 중복이면 0
+		when(repository.insertIgnore(USER_ID, "서울특별시 종로구")).thenReturn(0);
+		service.getUserBookmarks(USER_ID);
+
+		assertThatThrownBy(() -> inTransaction(() -> service.addBookmark(USER_ID, "서울특별시 종로구"), true))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessageContaining("이미 즐겨찾기에 추가된 도시입니다.");
+
+		service.getUserBookmarks(USER_ID);
+		verify(repository, times(1)).findByUserId(USER_ID);
+	}
+
+	@Test
+	void rolledBackChangesKeepCachedList() {
+		service.getUserBookmarks(USER_ID);
+
+		inTransaction(() -> service.addBookmark(USER_ID, "부산광역시 중구"), false);
+		inTransaction(() -> service.removeBookmark(USER_ID, "서울특별시 종로구"), false);
+
+		assertThat(service.getUserBookmarks(USER_ID)).containsExactly("서울특별시 종로구");
+		verify(repository, times(1)).findByUserId(USER_ID);
+	}
+
+	@Test
+	void committedChangesInvalidateCachedList() {
+		service.getUserBookmarks(USER_ID);
+
+		inTransaction(() -> service.addBookmark(USER_ID, "부산광역시 중구"), true);
+		service.getUserBookmarks(USER_ID);
+		inTransaction(() -> service.removeBookmark(USER_ID, "서울특별시 종로구"), true);
+		service.getUserBookmarks(USER_ID);
+
+		verify(repository, times(3)).findByUserId(USER_ID);
+	}
+
+	@Test
+	void readOverlappingRolledBackChangeIsStillCached() {
+		when(repository.findByUserId(USER_ID)).thenAnswer(invocation -> {
+			inTransaction(() -> service.addBookmark(USER_ID, "부산광역시 중구"), false);
+			return List.of(bookmark("서울특별시 종로구"));
+		});
+
+		service.getUserBookmarks(USER_ID);
+		service.getUserBookmarks(USER_ID);
+
+		verify(repository, times(1)).findByUserId(USER_ID);
+	}
+
+	@Test
+	void readOverlappingCommittedChangeIsNotCached() {
+		when(repository.findByUserId(USER_ID))
+				.thenAnswer(invocation -> {
+					// 목록을 읽는 사이 다른 요청의 추가가 커밋됨 → 읽은 목록은 이미 오래된 값
+					inTransaction(() -> service.addBookmark(USER_ID, "부산광역시 중구"), true);
+					return List.of(bookmark("서울특별시 종로구"));
+				})
+				.thenReturn(List.of(bookmark("서울특별시 종로구"), bookmark("부산광역시 중구")));
+
+		service.getUserBookmarks(USER_ID);
+
+		assertThat(service.getUserBookmarks(USER_ID)).containsExactly("서울특별시 종로구", "부산광역시 중구");
+		verify(repository, times(2)).findByUserId(USER_ID);
+	}
+
+	// @Transactional 대신 트랜잭션 동기화를 직접 열고 커밋 또는 롤백으로 마무리
+	private static void inTransaction(Runnable work, boolean commit) {
+		TransactionSynchronizationManager.initSynchronization();
+		List<TransactionSynchronization> synchronizations;
+		try {
+			work.run();
+		} finally {
+			synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		for (TransactionSynchronization synchronization : synchronizations) {
+			if (commit) {
+				synchronization.afterCommit();
+			}
+			synchronization.afterCompletion(commit
+					? TransactionSynchronization.STATUS_COMMITTED
+					: TransactionSynchronization.STATUS_ROLLED_BACK);
+		}
+	}
+
+	private static Bookmark bookmark(String location) {
+		Bookmark bookmark = new Bookmark();
+		bookmark.setUserId(USER_ID);
+		bookmark.setLocation(location);
+		return bookmark;
+	}
+}
@@ -0,0 +1,130 @@
+package com.weather.weather;
+
+import com.weather.weather.cache.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+	private Instant now = Instant.parse("2026-10-18T05:00:00Z");
+
+	private final Clock clock = new Clock() {
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	};
+
+	private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 0.5, Duration.ofSeconds(30), clock);
+
+	@Test
+	void opensWhenFailureRateReachesThreshold() {
+		call(true);
+		call(false);
+		call(true);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+		call(false);
+
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquire()).isNull();
+		assertThat(breaker.rejectedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void allowsSingleProbeAfterOpenDuration() {
+		for (int i = 0; i < 4; i++) {
+			call(false);
+		}
+		now = now.plusSeconds(30);
+
+		CircuitBreaker.Permit probe = breaker.tryAcquire();
+		assertThat(probe).isNotNull();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.tryAcquire()).isNull();
+
+		breaker.onSuccess(probe);
+
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.tryAcquire()).isNotNull();
+	}
+
+	@Test
+	void reopensWhenProbeFails() {
+		for (int i = 0; i < 4; i++) {
+			call(false);
+		}
+		now = now.plusSeconds(30);
+		CircuitBreaker.Permit probe = breaker.tryAcquire();
+
+		breaker.onFailure(probe);
+
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.allowsCalls()).isFalse();
+		assertThat(breaker.openedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void onlyProbeResultDecidesHalfOpen() {
+		// 열리기 전에 허가받은 호출이 HALF_OPEN 중에 끝나는 경우
+		CircuitBreaker.Permit slowCall = breaker.tryAcquire();
+		for (int i = 0; i < 4; i++) {
+			call(false);
+		}
+		now = now.plusSeconds(30);
+		CircuitBreaker.Permit probe = breaker.tryAcquire();
+
+		breaker.onSuccess(slowCall);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		breaker.onFailure(slowCall);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+		breaker.onSuccess(probe);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void abandonedProbeResultIsIgnoredAfterNewProbe() {
+		for (int i = 0; i < 4; i++) {
+			call(false);
+		}
+		now = now.plusSeconds(30);
+		CircuitBreaker.Permit abandoned = breaker.tryAcquire();
+		now = now.plusSeconds(30); // 결과가 오지 않아 다른 호출로 다시 시험
+		CircuitBreaker.Permit probe = breaker.tryAcquire();
+		assertThat(probe).isNotNull();
+
+		breaker.onSuccess(abandoned);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+		breaker.onFailure(probe);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+
+	private void call(boolean success) {
+		CircuitBreaker.Permit permit = breaker.tryAcquire();
+		assertThat(permit).isNotNull();
+		if (success) {
+			breaker.onSuccess(permit);
+		} else {
+			breaker.onFailure(permit);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.weather.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CityNameIndexTests {
+
+	private final CityNameIndex index = new CityNameIndex(List.of(
+			"서울특별시 종로구", "서울특별시 중구", "서울특별시 중랑구", "부산광역시 중구", "경기도 수원시장안구"));
+
+	@Test
+	void namesAreSortedOnce() {
+		assertThat(index.names()).containsExactly(
+				"경기도 수원시장안구", "부산광역시 중구", "서울특별시 종로구", "서울특별시 중구", "서울특별시 중랑구");
+	}
+
+	@Test
+	void matchesInitialConsonants() {
+		assertThat(index.search("ㅈㄹㄱ", 10)).containsExactly("서울특별시 종로구", "서울특별시 중랑구");
+		assertThat(index.search("종ㄹ", 10)).containsExactly("서울특별시 종로구");
+	}
+
+	@Test
+	void ordersByRelevanceAndAppliesLimit() {
+		assertThat(index.search("중", 10)).containsExactly("부산광역시 중구", "서울특별시 중구", "서울특별시 중랑구");
+		assertThat(index.search("서울 중", 1)).containsExactly("서울특별시 중구");
+		assertThat(index.search("수원", 10)).containsExactly("경기도 수원시장안구");
+		assertThat(index.search("대구", 10)).isEmpty();
+	}
+}
@@ -0,0 +1,84 @@
+package com.weather.weather;
+
+import com.weather.weather.cache.ExpiringLruCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringLruCacheTests {
+
+	// 13:30 발표분을 14:40에 캐시, 다음 발표분(14:30) 제공 시각 14:45에 만료
+	private static final Instant NEXT_SLOT_AVAILABLE_AT =
+			ZonedDateTime.of(2026, 10, 18, 14, 45, 0, 0, BaseTimeResolver.KST).toInstant();
+
+	private Instant now = NEXT_SLOT_AVAILABLE_AT.minus(Duration.ofMinutes(5));
+
+	private final Clock clock = new Clock() {
+		@Override
+		public ZoneId getZone() {
+			return BaseTimeResolver.KST;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	};
+
+	@Test
+	void expiresExactlyAtSlotBoundary() {
+		ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, clock);
+		cache.put("60-127-1330", "forecast", NEXT_SLOT_AVAILABLE_AT);
+
+		now = NEXT_SLOT_AVAILABLE_AT.minusNanos(1);
+		assertThat(cache.get("60-127-1330")).isEqualTo("forecast");
+
+		now = NEXT_SLOT_AVAILABLE_AT;
+		assertThat(cache.peek("60-127-1330")).isNull();
+		assertThat(cache.get("60-127-1330")).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedAtCapacity() {
+		ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, clock);
+		cache.put("a", "A", Duration.ofMinutes(1));
+		cache.put("b", "B", Duration.ofMinutes(1));
+		cache.get("a"); // b가 가장 오래 사용되지 않은 항목이 됨
+
+		cache.put("c", "C", Duration.ofMinutes(1));
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.peek("b")).isNull();
+		assertThat(cache.peek("a")).isEqualTo("A");
+		assertThat(cache.peek("c")).isEqualTo("C");
+		assertThat(cache.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void countsHitsAndMissesButNotPeeks() {
+		ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, clock);
+		cache.put("a", "A", Duration.ofMinutes(1));
+
+		cache.get("a");
+		cache.get("a");
+		cache.get("missing");
+		cache.peek("a");
+		cache.peek("missing");
+
+		assertThat(cache.hitCount()).isEqualTo(2);
+		assertThat(cache.missCount()).isEqualTo(1);
+		assertThat(cache.stats().get("hitRate")).isEqualTo(2.0 / 3);
+	}
+}
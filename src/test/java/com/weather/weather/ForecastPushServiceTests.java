@@ -0,0 +1,109 @@
+package com.weather.weather;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weather.service.ForecastPushService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForecastPushServiceTests {
+
+	private static final String CITY = "서울특별시 종로구";
+	private static final GridCell CELL = new GridCell(60, 127);
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final WeatherService weatherService = mock(WeatherService.class);
+	private final BlockingEmitter emitter = new BlockingEmitter();
+
+	// heartbeat 20ms, 느린 구독자 기준 50ms
+	private final ForecastPushService pushService = new ForecastPushService(weatherService, new ObjectMapper(),
+			new WeatherMetrics(registry), true, 10, 10, 60_000, 20, 50, 1, false) {
+		@Override
+		protected SseEmitter newEmitter(long timeoutMs) {
+			return emitter;
+		}
+	};
+
+	@AfterEach
+	void shutdown() {
+		emitter.release.countDown();
+		pushService.shutdown();
+	}
+
+	@Test
+	void completesSlowSubscriberAfterBlockedSendReturns() throws Exception {
+		ForecastSnapshot snapshot = ForecastSnapshot.builder()
+				.grid(CELL.nx(), CELL.ny())
+				.base(20261018, 1330)
+				.numeric(ForecastCategory.T1H, 20261018, 1400, 18f)
+				.build();
+		when(weatherService.findGridCell(CITY)).thenReturn(CELL);
+		when(weatherService.peekWeather(CELL)).thenReturn(snapshot);
+		when(weatherService.formatWeatherData(snapshot)).thenReturn(Map.of("temperature", "18℃"));
+		pushService.start();
+
+		// 첫 예보를 보내는 중 막힘 → heartbeat가 구독에서 뺌
+		pushService.subscribe(List.of(CITY));
+		waitUntil(() -> registry.get("weather.push.slow_disconnects").counter().count() == 1);
+		assertThat(emitter.completed).isFalse();
+
+		// 막혔던 쓰기가 끝나면 연결을 닫아 클라이언트가 다시 연결하게 함
+		emitter.release.countDown();
+		waitUntil(() -> emitter.completed);
+		assertThat(emitter.sends.get()).isEqualTo(1);
+		assertThat(registry.get("weather.push.connections").gauge().value()).isEqualTo(0.0);
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("조건을 기다리다 시간 초과");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	// 예보/heartbeat 보내기가 release 전까지 막히는 연결 (느린 클라이언트)
+	private static final class BlockingEmitter extends SseEmitter {
+
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final AtomicInteger sends = new AtomicInteger();
+		private volatile boolean completed;
+
+		@Override
+		public void send(Set<DataWithMediaType> items) throws IOException {
+			// subscribe()에서 보내는 첫 이벤트는 통과, 보내기 작업 스레드의 쓰기만 막힘
+			if (!Thread.currentThread().getName().startsWith("weather-push-")) {
+				super.send(items);
+				return;
+			}
+			sends.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("interrupted", e);
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.weather.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForecastSnapshotCodecTests {
+
+	@Test
+	void roundTripsNumericAndTextValues() throws IOException {
+		ForecastSnapshot snapshot;
+		try (InputStream inputStream = getClass().getResourceAsStream("/kma/getUltraSrtFcst-61-127.json")) {
+			snapshot = KmaForecastParser.parse(inputStream);
+		}
+
+		String payload = ForecastSnapshotCodec.encode(snapshot);
+		ForecastSnapshot restored = ForecastSnapshotCodec.decode(61, 127, 20261018, 1330, payload);
+
+		assertThat(restored.baseTime()).isEqualTo(1330);
+		for (ForecastCategory category : ForecastCategory.values()) {
+			assertThat(restored.has(category)).isEqualTo(snapshot.has(category));
+			assertThat(restored.valueText(category)).isEqualTo(snapshot.valueText(category));
+			assertThat(restored.fcstTime(category)).isEqualTo(snapshot.fcstTime(category));
+		}
+		assertThat(restored.hourCount()).isEqualTo(snapshot.hourCount());
+		assertThat(restored.valueText(ForecastCategory.RN1, 3)).isEqualTo("2.0mm");
+		assertThat(restored.value(ForecastCategory.T1H, 5)).isEqualTo(15f);
+		assertThat(Float.isNaN(restored.value(ForecastCategory.RN1))).isTrue();
+		assertThat(ForecastSnapshotCodec.encode(restored)).isEqualTo(payload);
+	}
+}
@@ -0,0 +1,61 @@
+package com.weather.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KmaForecastParserTests {
+
+	private static ForecastSnapshot parse(String resource) throws IOException {
+		try (InputStream inputStream = KmaForecastParserTests.class.getResourceAsStream(resource)) {
+			return KmaForecastParser.parse(inputStream);
+		}
+	}
+
+	@Test
+	void keepsEarliestForecastPerCategory() throws IOException {
+		ForecastSnapshot snapshot = parse("/kma/getUltraSrtFcst-61-127.json");
+
+		assertThat(snapshot.nx()).isEqualTo(61);
+		assertThat(snapshot.ny()).isEqualTo(127);
+		assertThat(snapshot.baseTime()).isEqualTo(1330);
+		assertThat(snapshot.fcstTime(ForecastCategory.T1H)).isEqualTo(1400);
+		assertThat(snapshot.valueText(ForecastCategory.T1H)).isEqualTo("18");
+		assertThat(snapshot.valueText(ForecastCategory.WSD)).isEqualTo("1.4");
+		assertThat(snapshot.valueText(ForecastCategory.RN1)).isEqualTo("강수없음");
+	}
+
+	@Test
+	void keepsEveryForecastHourColumnWise() throws IOException {
+		ForecastSnapshot snapshot = parse("/kma/getUltraSrtFcst-61-127.json");
+
+		assertThat(snapshot.hourCount()).isEqualTo(6);
+		assertThat(snapshot.fcstTime(0)).isEqualTo(1400);
+		assertThat(snapshot.fcstTime(5)).isEqualTo(1900);
+		assertThat(snapshot.value(ForecastCategory.T1H, 5)).isEqualTo(15f);
+		assertThat(snapshot.value(ForecastCategory.PTY, 2)).isEqualTo(1f);
+		assertThat(snapshot.valueText(ForecastCategory.RN1, 2)).isEqualTo("1.0mm");
+		assertThat(Float.isNaN(snapshot.value(ForecastCategory.RN1, 2))).isTrue();
+	}
+
+	@Test
+	void keepsMalformedNumberAsTextInsteadOfFailingPayload() throws IOException {
+		ForecastSnapshot snapshot = parse("/kma/getUltraSrtFcst-malformed-value.json");
+
+		assertThat(snapshot.valueText(ForecastCategory.T1H, 0)).isEqualTo("1.2.3");
+		assertThat(Float.isNaN(snapshot.value(ForecastCategory.T1H, 0))).isTrue();
+		assertThat(snapshot.value(ForecastCategory.T1H, 1)).isEqualTo(17f);
+		assertThat(snapshot.value(ForecastCategory.WSD)).isEqualTo(-0.5f);
+		assertThat(snapshot.value(ForecastCategory.REH)).isEqualTo(60f);
+	}
+
+	@Test
+	void reportsNoData() {
+		assertThatThrownBy(() -> parse("/kma/getUltraSrtFcst-no-data.json"))
+				.isInstanceOfSatisfying(KmaApiException.class, e -> assertThat(e.isNoData()).isTrue());
+	}
+}
@@ -0,0 +1,88 @@
+package com.weather.weather;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearestCityLookupTests {
+
+	// 대한민국 전역을 덮는 위경도 범위 (제주 남단 ~ 휴전선, 서해 ~ 독도)
+	private static final double MIN_LAT = 33.0;
+	private static final double MAX_LAT = 38.7;
+	private static final double MIN_LON = 124.5;
+	private static final double MAX_LON = 132.0;
+
+	@Test
+	void matchesLinearScanForRandomCoordinates() throws IOException {
+		Map<String, Integer[]> cities = loadCityCoordinates();
+		NearestCityLookup lookup = new NearestCityLookup(cities);
+		Random random = new Random(20261018L);
+
+		for (int i = 0; i < 20_000; i++) {
+			double lat = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+			double lon = MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON);
+			int[] grid = KmaGridProjection.latitudeLongitudeToGrid(lat, lon);
+
+			assertThat(lookup.nearestCity(grid[0], grid[1])).isEqualTo(linearScan(cities, grid[0], grid[1]));
+		}
+	}
+
+	@Test
+	void matchesLinearScanOnEveryGridCell() throws IOException {
+		Map<String, Integer[]> cities = loadCityCoordinates();
+		NearestCityLookup lookup = new NearestCityLookup(cities);
+
+		for (int ny = 1; ny <= NearestCityLookup.MAX_NY; ny++) {
+			for (int nx = 1; nx <= NearestCityLookup.MAX_NX; nx++) {
+				assertThat(lookup.nearestCity(nx, ny)).isEqualTo(linearScan(cities, nx, ny));
+			}
+		}
+	}
+
+	@Test
+	void equalDistanceGoesToFirstCityInFileOrder() {
+		Map<String, Integer[]> cities = new LinkedHashMap<>();
+		cities.put("서쪽", new Integer[]{58, 127});
+		cities.put("동쪽", new Integer[]{62, 127});
+		cities.put("같은 격자", new Integer[]{58, 127});
+		cities.put("북쪽", new Integer[]{60, 129});
+		NearestCityLookup lookup = new NearestCityLookup(cities);
+
+		// (60, 127)은 서쪽·동쪽·북쪽 모두 거리 2
+		assertThat(lookup.nearestCity(60, 127)).isEqualTo("서쪽").isEqualTo(linearScan(cities, 60, 127));
+		// 같은 격자를 쓰는 도시는 먼저 나온 도시
+		assertThat(lookup.nearestCity(58, 127)).isEqualTo("서쪽");
+		// 격자 범위 밖은 직접 계산하지만 결과 규칙은 같음
+		assertThat(lookup.nearestCity(0, 127)).isEqualTo(linearScan(cities, 0, 127));
+		assertThat(lookup.nearestCity(200, 300)).isEqualTo(linearScan(cities, 200, 300));
+	}
+
+	// 조회 테이블 도입 전 WeatherService의 도시 매칭 (거리가 더 작을 때만 교체)
+	private static String linearScan(Map<String, Integer[]> cities, int nx, int ny) {
+		String closestCity = null;
+		double minDistance = Double.MAX_VALUE;
+
+		for (Map.Entry<String, Integer[]> entry : cities.entrySet()) {
+			double distance = Math.sqrt(Math.pow(nx - entry.getValue()[0], 2) + Math.pow(ny - entry.getValue()[1], 2));
+			if (distance < minDistance) {
+				minDistance = distance;
+				closestCity = entry.getKey();
+			}
+		}
+		return closestCity;
+	}
+
+	private static Map<String, Integer[]> loadCityCoordinates() throws IOException {
+		try (InputStream in = NearestCityLookupTests.class.getResourceAsStream("/city-coordinates.json")) {
+			return new ObjectMapper().readValue(in, new TypeReference<LinkedHashMap<String, Integer[]>>() {});
+		}
+	}
+}
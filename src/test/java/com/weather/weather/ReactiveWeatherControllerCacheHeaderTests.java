@@ -0,0 +1,93 @@
+package com.weather.weather;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReactiveWeatherController.class)
+@AutoConfigureMockMvc(addFilters = false) // 보안 필터는 이 테스트 대상이 아님
+@Import(WeatherControllerCacheHeaderTests.FixedClockConfig.class)
+class ReactiveWeatherControllerCacheHeaderTests {
+
+	private static final String CITY = "서울특별시 종로구";
+	private static final String ETAG = "W/\"61-127-20261018-1330\"";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private ReactiveWeatherService reactiveWeatherService;
+
+	@BeforeEach
+	void setUp() {
+		ForecastSnapshot snapshot = ForecastSnapshot.builder()
+				.grid(61, 127)
+				.base(20261018, 1330)
+				.numeric(ForecastCategory.T1H, 20261018, 1400, 18f)
+				.build();
+		when(reactiveWeatherService.getFormattedWeatherData(CITY))
+				.thenReturn(Mono.just(new FormattedWeather(snapshot, Map.of("temperature", "18"), false, 0)));
+	}
+
+	@Test
+	void okCarriesSameHeadersAsBlockingEndpoint() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/weather/reactive").param("city", CITY))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		// 14:40 기준 13:30 발표분은 14:45까지 → max-age 300초
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT))))
+				.andExpect(jsonPath("$.weather.temperature").value("18"));
+	}
+
+	@Test
+	void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/weather/reactive").param("city", CITY)
+						.header(HttpHeaders.IF_NONE_MATCH, ETAG))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void unavailableForecastIsNotCached() throws Exception {
+		when(reactiveWeatherService.getFormattedWeatherData(CITY))
+				.thenReturn(Mono.just(FormattedWeather.error("날씨 데이터를 가져오지 못했습니다.")));
+
+		MvcResult result = mockMvc.perform(get("/api/weather/reactive").param("city", CITY))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+	}
+}
@@ -0,0 +1,130 @@
+package com.weather.weather;
+
+import com.weather.weather.cache.SingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+	private final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void coalescesConcurrentCallsIntoOneLoad() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			results.add(executor.submit(() -> singleFlight.execute("60-127", () -> {
+				loads.incrementAndGet();
+				await(release);
+				return "forecast";
+			})));
+		}
+		waitUntil(() -> singleFlight.coalescedCount() == 4);
+		release.countDown();
+
+		for (Future<String> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("forecast");
+		}
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(singleFlight.inFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	void propagatesLeaderFailureToWaitersAndClearsKey() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = executor.submit(() -> singleFlight.execute("60-127", () -> {
+			await(release);
+			throw new IllegalStateException("기상청 오류");
+		}));
+		waitUntil(() -> singleFlight.inFlightCount() == 1);
+		Future<String> waiter = executor.submit(() -> singleFlight.execute("60-127", () -> "unused"));
+		waitUntil(() -> singleFlight.coalescedCount() == 1);
+		release.countDown();
+
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+		assertThat(singleFlight.inFlightCount()).isEqualTo(0);
+
+		// 실패한 키는 남지 않으므로 다음 호출은 새로 불러옴
+		assertThat(singleFlight.execute("60-127", () -> "retried")).isEqualTo("retried");
+	}
+
+	@Test
+	void waiterRetriesWhenLeaderIsCancelled() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = executor.submit(() -> singleFlight.execute("60-127", () -> {
+			await(release);
+			throw new CancellationException("선조회 마감");
+		}));
+		waitUntil(() -> singleFlight.inFlightCount() == 1);
+		Future<String> waiter = executor.submit(() -> singleFlight.execute("60-127", () -> "forecast"));
+		waitUntil(() -> singleFlight.coalescedCount() == 1);
+		release.countDown();
+
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+		assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("forecast");
+		assertThat(singleFlight.leaderCount()).isEqualTo(2);
+		assertThat(singleFlight.inFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	void interruptedWaiterStopsWaitingWithoutResult() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		executor.submit(() -> singleFlight.execute("60-127", () -> {
+			await(release);
+			return "forecast";
+		}));
+		waitUntil(() -> singleFlight.inFlightCount() == 1);
+		Future<String> waiter = executor.submit(() -> singleFlight.execute("60-127", () -> "unused"));
+		waitUntil(() -> singleFlight.coalescedCount() == 1);
+
+		waiter.cancel(true);
+		release.countDown();
+
+		assertThat(waiter.isCancelled()).isTrue();
+		waitUntil(() -> singleFlight.inFlightCount() == 0);
+		assertThat(singleFlight.leaderCount()).isEqualTo(1);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("interrupted");
+		}
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("조건을 기다리다 시간 초과");
+			}
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.weather.weather;
+
+import com.weather.weather.service.ForecastPushService;
+import com.weather.weather.service.WeatherPrefetchScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WeatherController.class)
+@AutoConfigureMockMvc(addFilters = false) // 보안 필터는 이 테스트 대상이 아님
+class WeatherControllerBatchTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private WeatherService weatherService;
+
+	@MockitoBean
+	private WeatherPrefetchScheduler prefetchScheduler;
+
+	@MockitoBean
+	private ForecastPushService forecastPushService;
+
+	@MockitoBean
+	private BaseTimeResolver baseTimeResolver;
+
+	@MockitoBean
+	private Clock clock;
+
+	@Test
+	void nullCityInPostedListIsRejectedBeforeLookup() throws Exception {
+		mockMvc.perform(post("/api/weather/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[\"서울특별시 종로구\", null]"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("1번째 도시명이 비어 있습니다."));
+
+		verify(weatherService, never()).getFormattedWeatherBatch(any());
+	}
+
+	@Test
+	void blankCityInQueryIsRejectedBeforeLookup() throws Exception {
+		mockMvc.perform(get("/api/weather/batch").param("cities", "서울특별시 종로구", " "))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("1번째 도시명이 비어 있습니다."));
+
+		verify(weatherService, never()).getFormattedWeatherBatch(any());
+	}
+}
@@ -0,0 +1,121 @@
+package com.weather.weather;
+
+import com.weather.weather.service.ForecastPushService;
+import com.weather.weather.service.WeatherPrefetchScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WeatherController.class)
+@AutoConfigureMockMvc(addFilters = false) // 보안 필터는 이 테스트 대상이 아님
+@Import(WeatherControllerCacheHeaderTests.FixedClockConfig.class)
+class WeatherControllerCacheHeaderTests {
+
+	private static final String CITY = "서울특별시 종로구";
+	private static final String ETAG = "W/\"61-127-20261018-1330\"";
+
+	// 13:30 발표분, 다음 발표분(14:30)은 14:45부터 제공 → 14:40 기준 max-age 300초
+	private static final Instant NOW = ZonedDateTime.of(2026, 10, 18, 14, 40, 0, 0, BaseTimeResolver.KST).toInstant();
+	private static final Instant PUBLISHED_AT =
+			ZonedDateTime.of(2026, 10, 18, 13, 30, 0, 0, BaseTimeResolver.KST).toInstant();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private WeatherService weatherService;
+
+	@MockitoBean
+	private WeatherPrefetchScheduler prefetchScheduler;
+
+	@MockitoBean
+	private ForecastPushService forecastPushService;
+
+	@TestConfiguration
+	static class FixedClockConfig {
+
+		@Bean
+		Clock clock() {
+			return Clock.fixed(NOW, BaseTimeResolver.KST);
+		}
+
+		@Bean
+		BaseTimeResolver baseTimeResolver(Clock clock) {
+			return new BaseTimeResolver(clock, 15, 3, 60);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		ForecastSnapshot snapshot = ForecastSnapshot.builder()
+				.grid(61, 127)
+				.base(20261018, 1330)
+				.numeric(ForecastCategory.T1H, 20261018, 1400, 18f)
+				.build();
+		when(weatherService.getWeather(CITY))
+				.thenReturn(new FormattedWeather(snapshot, Map.of("temperature", "18"), false, 0));
+	}
+
+	@Test
+	void okCarriesValidatorsMaxAgeAndVary() throws Exception {
+		mockMvc.perform(get("/api/weather").param("city", CITY).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, PUBLISHED_AT.toEpochMilli()))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT))))
+				.andExpect(jsonPath("$.city").value(CITY))
+				.andExpect(jsonPath("$.weather.temperature").value("18"));
+	}
+
+	@Test
+	void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+		mockMvc.perform(get("/api/weather").param("city", CITY).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void unmodifiedSinceLastModifiedReturnsNotModifiedWithoutBody() throws Exception {
+		String ifModifiedSince = DateTimeFormatter.RFC_1123_DATE_TIME.format(PUBLISHED_AT.atZone(ZoneOffset.UTC));
+
+		mockMvc.perform(get("/api/weather").param("city", CITY).header(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void previousBaseTimeETagGetsFullResponse() throws Exception {
+		mockMvc.perform(get("/api/weather").param("city", CITY)
+						.header(HttpHeaders.IF_NONE_MATCH, "W/\"61-127-20261018-1230\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(jsonPath("$.weather.temperature").value("18"));
+	}
+}